@@ -0,0 +1,377 @@
+// =============================================================================
+// IMPORTS
+
+import flowcontrol.bench.Workload;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * The hot-path operations of a link between two layers of one kind, for the
+ * benchmarks.  It lives in the unnamed package, beside the simulator, so that
+ * it can drive the layers' protected methods directly.  The layers' event
+ * loops never run; each operation calls the methods that a loop would.
+ *
+ * All of the operations work on one frame, built in advance from data with a
+ * given share of bytes that framing must escape: the tags of byte stuffing,
+ * and the zero of COBS.
+ *
+ * @file   LinkWorkload.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class LinkWorkload implements Workload {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Connect a sending and a receiving layer through a perfect medium, a
+     * third layer to a medium of its own, and a pair of layers serving hosts
+     * through a perfect medium of theirs; and build the frame to work on.
+     *
+     * @param  layer         The data link layer subclass of every end.
+     * @param  payloadSize   The number of data bytes in the frame.
+     * @param  escapeDensity The share of data bytes that framing must escape.
+     * @throws RuntimeException if the layer is not a frame codec, if the data
+     *                          would not fit in a frame, or if the frame does
+     *                          not decode.
+     */
+    public LinkWorkload (String layer, int payloadSize, double escapeDensity) {
+
+	if (payloadSize > DataLinkLayer.MAX_FRAME_SIZE) {
+	    throw new RuntimeException("Payload of " + payloadSize +
+				       " bytes exceeds the maximum of " +
+				       DataLinkLayer.MAX_FRAME_SIZE);
+	}
+
+	// Two ends of a link...
+	medium           = Medium.create("Perfect");
+	senderPhysical   = PhysicalLayer.create(medium);
+	receiverPhysical = PhysicalLayer.create(medium);
+	sender           = DataLinkLayer.create(layer, senderPhysical, null);
+	receiver         = DataLinkLayer.create(layer, receiverPhysical, null);
+	if (!(sender instanceof FrameCodec)) {
+	    throw new RuntimeException(layer + " is not a frame codec");
+	}
+	codec            = (FrameCodec)sender;
+
+	// ...and a layer alone, whose bits reach no one.
+	Medium empty = Medium.create("Perfect");
+	loner        = DataLinkLayer.create(layer,
+					    PhysicalLayer.create(empty),
+					    null);
+
+	// A link between hosts, whose own layers are alone on a medium and
+	// never run.
+	Medium link      = Medium.create("Perfect");
+	Medium unused    = Medium.create("Perfect");
+	receivingHost    = new Host(unused, layer);
+	exchangeSender   = DataLinkLayer.create(layer,
+						PhysicalLayer.create(link),
+						new Host(unused, layer));
+	exchangeReceiver = DataLinkLayer.create(layer,
+						PhysicalLayer.create(link),
+						receivingHost);
+
+	// The data, and the frame that holds it, as bytes and as bits.
+	payload     = payload(payloadSize, escapeDensity);
+	data        = ByteBuffer.wrap(payload);
+	frame       = ByteBuffer.allocate(codec.maxEncodedLength(payloadSize));
+	frameBytes  = Arrays.copyOf(frame.array(), createFrame());
+	frameBuffer = ByteBuffer.wrap(frameBytes);
+	packedBits  = pack(frameBytes);
+	bitCount    = frameBytes.length * Byte.SIZE;
+	stream      = ByteBuffer.allocate(STREAM_SIZE);
+	while (stream.remaining() >= payload.length) {
+	    stream.put(payload);
+	}
+	stream.clear();
+	retrieved   = new byte[STREAM_SIZE];
+
+	// Make sure that what is timed is the path of an intact frame, which
+	// leaves nothing behind in the receiving layer.
+	if ((processFrame() == null) || !receiver.receiveBuffer.isEmpty()) {
+	    throw new RuntimeException(layer + " frame did not decode intact");
+	}
+
+    } // LinkWorkload ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public int createFrame () {
+
+	data.clear();
+	frame.clear();
+	codec.encode(data, frame);
+
+	return frame.position();
+
+    } // createFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public Object processFrame () {
+
+	for (int i = 0; i < frameBytes.length; i += 1) {
+	    receiver.receiveBuffer.add(frameBytes[i]);
+	}
+
+	return receiver.decodeFrame();
+
+    } // processFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public long calculateCheck () {
+
+	return sender.errorDetector.calculate(payload, 0, payload.length);
+
+    } // calculateCheck ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public int transmit () {
+
+	loner.transmit(frameBuffer);
+
+	return frameBuffer.remaining();
+
+    } // transmit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public int receive () {
+
+	receiverPhysical.receive(packedBits, bitCount);
+
+	return gather();
+
+    } // receive ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public int mediumTransmit () {
+
+	medium.transmit(senderPhysical, packedBits, bitCount);
+
+	return gather();
+
+    } // mediumTransmit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public int exchange () {
+
+	// Lend the stream again once the last of it has been taken.
+	if (exchangeSender.sendBuffer.isEmpty()) {
+	    exchangeSender.send(stream);
+	}
+	exchangeSender.step();
+	exchangeReceiver.step();
+
+	return receivingHost.retrieve(retrieved);
+
+    } // exchange ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Have the receiving layer gather the bits waiting at its physical layer
+     * into bytes, and then drop them.
+     *
+     * @return the number of bytes gathered.
+     */
+    private int gather () {
+
+	receiver.receive();
+	int gathered = receiver.receiveBuffer.size();
+	receiver.receiveBuffer.discard(gathered);
+
+	return gathered;
+
+    } // gather ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Make reproducible data of which a share of bytes must be escaped.
+     *
+     * @param  size          The number of bytes.
+     * @param  escapeDensity The share of them that must be escaped.
+     * @return the data.
+     */
+    private static byte[] payload (int size, double escapeDensity) {
+
+	Random random = new Random(SEED);
+	byte[] bytes  = new byte[size];
+	for (int i = 0; i < size; i += 1) {
+	    if (random.nextDouble() < escapeDensity) {
+		bytes[i] = ESCAPED[random.nextInt(ESCAPED.length)];
+	    } else {
+		do {
+		    bytes[i] = (byte)random.nextInt(256);
+		} while (isEscaped(bytes[i]));
+	    }
+	}
+
+	return bytes;
+
+    } // payload ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  b A data byte.
+     * @return whether some framing must escape it.
+     */
+    private static boolean isEscaped (byte b) {
+
+	for (byte escaped : ESCAPED) {
+	    if (b == escaped) {
+		return true;
+	    }
+	}
+
+	return false;
+
+    } // isEscaped ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Pack bytes into bits, as a physical layer does before handing them to
+     * its medium.
+     *
+     * @param  bytes The bytes.
+     * @return their bits, sixty-four to a word, most significant first.
+     */
+    private static long[] pack (byte[] bytes) {
+
+	long[] packed = new long[(bytes.length + Long.BYTES - 1) / Long.BYTES];
+	for (int i = 0; i < bytes.length; i += 1) {
+	    int shift = Long.SIZE - Byte.SIZE * (1 + i % Long.BYTES);
+	    packed[i / Long.BYTES] |= (long)(bytes[i] & 0xff) << shift;
+	}
+
+	return packed;
+
+    } // pack ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The medium between the sending and receiving layers. */
+    private final Medium        medium;
+
+    /** The sending layer's physical layer. */
+    private final PhysicalLayer senderPhysical;
+
+    /** The receiving layer's physical layer. */
+    private final PhysicalLayer receiverPhysical;
+
+    /** The layer that frames the data. */
+    private final DataLinkLayer sender;
+
+    /** The sending layer, as a codec. */
+    private final FrameCodec    codec;
+
+    /** The layer that receives the frame. */
+    private final DataLinkLayer receiver;
+
+    /** A layer alone on its medium, which transmits the frame. */
+    private final DataLinkLayer loner;
+
+    /** The layer that sends the stream to a host. */
+    private final DataLinkLayer exchangeSender;
+
+    /** The layer that receives the stream for a host. */
+    private final DataLinkLayer exchangeReceiver;
+
+    /** The host to which the stream is delivered. */
+    private final Host          receivingHost;
+
+    /** The data. */
+    private final byte[]        payload;
+
+    /** The data, as a buffer from which to encode it. */
+    private final ByteBuffer    data;
+
+    /** Space into which the data is encoded. */
+    private final ByteBuffer    frame;
+
+    /** The frame holding the data. */
+    private final byte[]        frameBytes;
+
+    /** The frame, as a buffer from which to transmit it. */
+    private final ByteBuffer    frameBuffer;
+
+    /** The frame's bits, sixty-four to a word. */
+    private final long[]        packedBits;
+
+    /** The number of the frame's bits. */
+    private final int           bitCount;
+
+    /** The data, repeated, that is lent to the sending host's layer. */
+    private final ByteBuffer    stream;
+
+    /** Space into which the receiving host's data is retrieved. */
+    private final byte[]        retrieved;
+
+    /** The number of bytes of the stream. */
+    private static final int    STREAM_SIZE = 1 << 20;
+
+    /** The seed of the data, so that every run works on the same frame. */
+    private static final long   SEED        = 42;
+
+    /** The data bytes that some framing escapes. */
+    private static final byte[] ESCAPED     = { '{', '}', '\\', 0 };
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class LinkWorkload
+// =============================================================================
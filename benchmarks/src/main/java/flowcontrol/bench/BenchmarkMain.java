@@ -0,0 +1,73 @@
+// =============================================================================
+// PACKAGE
+
+package flowcontrol.bench;
+// =============================================================================
+
+
+
+// =============================================================================
+// IMPORTS
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * Runs the benchmarks with the standard JMH command line, always adding the
+ * GC profiler, so that every result comes with its allocation rate
+ * (<code>gc.alloc.rate.norm</code> is bytes allocated per frame).  For
+ * example:
+ *
+ * <pre>
+ *   java -jar benchmarks/target/benchmarks.jar
+ *   java -jar benchmarks/target/benchmarks.jar createFrame -p layer=PAR
+ *   java -jar benchmarks/target/benchmarks.jar -rf json -rff results.json
+ * </pre>
+ *
+ * @file   BenchmarkMain.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class BenchmarkMain {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * The entry point.  Interpret the command-line arguments as JMH does,
+     * aborting if they are invalid, and then run the selected benchmarks.
+     *
+     * @param args The command-line arguments.
+     */
+    public static void main (String[] args) throws RunnerException {
+
+	CommandLineOptions options = null;
+	try {
+	    options = new CommandLineOptions(args);
+	} catch (CommandLineOptionException e) {
+	    System.err.println("Error parsing command line: " + e.getMessage());
+	    System.exit(1);
+	}
+
+	new Runner(new OptionsBuilder()
+		   .parent(options)
+		   .addProfiler(GCProfiler.class)
+		   .build()).run();
+
+    } // main ()
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class BenchmarkMain
+// =============================================================================
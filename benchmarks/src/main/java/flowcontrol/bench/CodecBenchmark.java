@@ -0,0 +1,100 @@
+// =============================================================================
+// PACKAGE
+
+package flowcontrol.bench;
+// =============================================================================
+
+
+
+// =============================================================================
+// IMPORTS
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * The time per frame of the work that a layer does on frames' bytes.  Every
+ * layer is a frame codec, which its event loop drives in place of the older
+ * queue-based <code>createFrame()</code> and <code>processFrame()</code>; so
+ * those benchmarks time the codec's <code>encode()</code> and
+ * <code>decode()</code>.  The check that parity layers once calculated in
+ * <code>calculateParity()</code> is now any layer's error detector.
+ *
+ * @file   CodecBenchmark.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Encode a frame's data into a frame.
+     *
+     * @param  link The link.
+     * @return the length of the frame.
+     */
+    @Benchmark
+    public int createFrame (LinkState link) {
+
+	return link.workload.createFrame();
+
+    } // createFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Buffer a frame's bytes as received, and decode them.
+     *
+     * @param  link The link.
+     * @return the data extracted.
+     */
+    @Benchmark
+    public Object processFrame (LinkState link) {
+
+	return link.workload.processFrame();
+
+    } // processFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Calculate the check of a frame's data.
+     *
+     * @param  link The link.
+     * @return the check.
+     */
+    @Benchmark
+    public long calculateCheck (LinkState link) {
+
+	return link.workload.calculateCheck();
+
+    } // calculateCheck ()
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class CodecBenchmark
+// =============================================================================
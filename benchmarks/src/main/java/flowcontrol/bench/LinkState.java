@@ -0,0 +1,75 @@
+// =============================================================================
+// PACKAGE
+
+package flowcontrol.bench;
+// =============================================================================
+
+
+
+// =============================================================================
+// IMPORTS
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * The link that a benchmark works on, one per benchmark thread, for every
+ * combination of layer, payload size, and escape density.  Each combination
+ * runs in a fresh JVM, in which the maximum frame size is set to the payload
+ * size before any layer is loaded.
+ *
+ * @file   LinkState.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+@State(Scope.Thread)
+public class LinkState {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Build the link for this combination of parameters.
+     */
+    @Setup
+    public void setUp () {
+
+	System.setProperty("maxFrameSize", Integer.toString(payloadSize));
+	workload = Workload.create(layer, payloadSize, escapeDensity);
+
+    } // setUp ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The data link layer subclass of every end of the link. */
+    @Param({ "Parity", "PAR", "GoBackN", "SelectiveRepeat", "FEC" })
+    public String layer;
+
+    /** The number of data bytes in each frame. */
+    @Param({ "8", "64", "255" })
+    public int    payloadSize;
+
+    /** The share of data bytes that framing must escape. */
+    @Param({ "0.0", "0.1", "0.5" })
+    public double escapeDensity;
+
+    /** The operations on the link. */
+    public Workload workload;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class LinkState
+// =============================================================================
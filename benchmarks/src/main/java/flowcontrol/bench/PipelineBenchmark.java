@@ -0,0 +1,64 @@
+// =============================================================================
+// PACKAGE
+
+package flowcontrol.bench;
+// =============================================================================
+
+
+
+// =============================================================================
+// IMPORTS
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * The time of a whole iteration of a link's event loops: data taken from the
+ * sending host's buffer, framed, carried as bits, decoded, and handed to the
+ * receiving host, with whatever the layer sends back.  Run with
+ * <code>-prof gc</code>, it shows what the path allocates per iteration.
+ *
+ * @file   PipelineBenchmark.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineBenchmark {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Run one iteration of each end's event loop.
+     *
+     * @param  link The link.
+     * @return the number of data bytes that reached the receiving host.
+     */
+    @Benchmark
+    public int exchange (LinkState link) {
+
+	return link.workload.exchange();
+
+    } // exchange ()
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class PipelineBenchmark
+// =============================================================================
@@ -0,0 +1,99 @@
+// =============================================================================
+// PACKAGE
+
+package flowcontrol.bench;
+// =============================================================================
+
+
+
+// =============================================================================
+// IMPORTS
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * The time per frame of moving a frame's bits: from a layer's bytes onto a
+ * medium, across the medium, and from the receiving physical layer back into
+ * a layer's bytes.  The medium is perfect, so nothing is lost along the way.
+ *
+ * @file   TransportBenchmark.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransportBenchmark {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Transmit a frame's bytes as bits, which its medium carries to no one.
+     *
+     * @param  link The link.
+     * @return the length of the frame.
+     */
+    @Benchmark
+    public int transmit (LinkState link) {
+
+	return link.workload.transmit();
+
+    } // transmit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Receive a frame's bits at a physical layer, and gather them into bytes
+     * in its layer.
+     *
+     * @param  link The link.
+     * @return the number of bytes gathered.
+     */
+    @Benchmark
+    public int receive (LinkState link) {
+
+	return link.workload.receive();
+
+    } // receive ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Carry a frame's bits across the medium, and gather them into bytes at
+     * the far end.
+     *
+     * @param  link The link.
+     * @return the number of bytes gathered.
+     */
+    @Benchmark
+    public int mediumTransmit (LinkState link) {
+
+	return link.workload.mediumTransmit();
+
+    } // mediumTransmit ()
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class TransportBenchmark
+// =============================================================================
@@ -0,0 +1,167 @@
+// =============================================================================
+// PACKAGE
+
+package flowcontrol.bench;
+// =============================================================================
+
+
+
+// =============================================================================
+// IMPORTS
+
+import java.lang.reflect.InvocationTargetException;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * One frame's worth of each hot-path operation of a link, ready to be timed.
+ * The simulator's classes live in the unnamed package, which JMH benchmarks
+ * may not, and which no named package can see; so the benchmarks reach them
+ * through this interface, implemented by <code>LinkWorkload</code> in the
+ * unnamed package and looked up by name.
+ *
+ * Each operation leaves the link as it found it, so that it can be repeated
+ * indefinitely, and returns something derived from its work for the
+ * benchmark to consume.
+ *
+ * @file   Workload.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public interface Workload {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create the workload for a kind of link.
+     *
+     * @param  layer         The data link layer subclass of both ends, e.g.
+     *                       <code>PAR</code>.
+     * @param  payloadSize   The number of data bytes in the frame.
+     * @param  escapeDensity The share of data bytes that the framing must
+     *                       escape.
+     * @return The newly created workload.
+     * @throws RuntimeException if the workload could not be created.
+     */
+    public static Workload create (String layer,
+				   int    payloadSize,
+				   double escapeDensity) {
+
+	try {
+	    return (Workload)Class.forName(IMPLEMENTATION)
+		.getConstructor(String.class, int.class, double.class)
+		.newInstance(layer, payloadSize, escapeDensity);
+	} catch (InvocationTargetException e) {
+	    throw new RuntimeException("Could not create workload for " + layer,
+				       e.getCause());
+	} catch (ReflectiveOperationException e) {
+	    throw new RuntimeException("Could not create " + IMPLEMENTATION, e);
+	}
+
+    } // create ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Encode the data into a frame, as the sending layer's event loop does.
+     *
+     * @return the length of the frame.
+     */
+    public int createFrame ();
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Buffer the bytes of a frame and decode it, as the receiving layer's
+     * event loop does.
+     *
+     * @return the data extracted, or <code>null</code> if none was.
+     */
+    public Object processFrame ();
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Calculate the check of the layer's error detector over the data.
+     *
+     * @return the check.
+     */
+    public long calculateCheck ();
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send a frame's bytes from a layer as bits, through a physical layer to a
+     * medium with no one else on it.
+     *
+     * @return the length of the frame.
+     */
+    public int transmit ();
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Hand a frame's bits to the receiving physical layer, as a medium does,
+     * and have the receiving layer gather them into bytes.
+     *
+     * @return the number of bytes gathered.
+     */
+    public int receive ();
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Have the medium carry a frame's bits from the sending physical layer to
+     * the receiving one, and have the receiving layer gather them into bytes.
+     * Less the time of <code>receive()</code>, this is the medium's share.
+     *
+     * @return the number of bytes gathered.
+     */
+    public int mediumTransmit ();
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Run one iteration of each end's event loop, as their threads do: the
+     * sending end frames and transmits data from its send buffer, which is
+     * kept from running dry, and the receiving end decodes what arrives,
+     * acknowledges it as its layer does, and delivers it to its host, from
+     * which it is retrieved.
+     *
+     * @return the number of data bytes retrieved.
+     */
+    public int exchange ();
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The class, in the unnamed package, that implements this interface. */
+    public static final String IMPLEMENTATION = "LinkWorkload";
+    // =========================================================================
+
+
+
+// =============================================================================
+} // interface Workload
+// =============================================================================
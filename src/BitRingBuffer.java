@@ -0,0 +1,264 @@
+// =============================================================================
+/**
+ * A growable ring buffer of bits, packed sixty-four to a <code>long</code>.
+ * Bits are stored most significant first within each word, so that eight
+ * consecutive bits can be drained as a byte with a pair of shifts rather than
+ * eight separate removals.  Not thread-safe; it is meant to be owned by a
+ * single data link layer.
+ *
+ * @file   BitRingBuffer.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class BitRingBuffer {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create an empty buffer with the default capacity.
+     */
+    public BitRingBuffer () {
+
+	this(DEFAULT_CAPACITY);
+
+    } // BitRingBuffer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create an empty buffer able to hold at least the given number of bits
+     * before growing.
+     *
+     * @param capacity The initial number of bits to make room for.
+     */
+    public BitRingBuffer (int capacity) {
+
+	// Round up to a power-of-two number of whole words.
+	int words = 1;
+	while (words * Long.SIZE < capacity) {
+	    words <<= 1;
+	}
+	this.words = new long[words];
+	this.mask  = words * Long.SIZE - 1;
+
+    } // BitRingBuffer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of bits currently buffered.
+     */
+    public int size () {
+
+	return tail - head;
+
+    } // size ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return whether no bits are buffered.
+     */
+    public boolean isEmpty () {
+
+	return tail == head;
+
+    } // isEmpty ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Append one bit to the end of the buffer.
+     *
+     * @param bit The bit to append, where <code>true</code> is a
+     *            <code>1</code>.
+     */
+    public void add (boolean bit) {
+
+	if (size() == mask + 1) {
+	    grow();
+	}
+
+	int  position = tail & mask;
+	long bitMask  = 1L << (Long.SIZE - 1 - (position & (Long.SIZE - 1)));
+	if (bit) {
+	    words[position >>> 6] |= bitMask;
+	} else {
+	    words[position >>> 6] &= ~bitMask;
+	}
+	tail += 1;
+
+    } // add ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Append a sequence of packed bits to the end of the buffer, a word at a
+     * time.
+     *
+     * @param packedBits The bits, sixty-four to a word, most significant
+     *                   first.
+     * @param bitCount   The number of bits to take from the words.
+     */
+    public void add (long[] packedBits, int bitCount) {
+
+	// Make room for whole words to be written, which may run a word past
+	// the last bit, without touching the oldest bits.
+	int count = (bitCount + Long.SIZE - 1) / Long.SIZE;
+	while ((tail & -Long.SIZE) - (head & -Long.SIZE) + (count + 1) * Long.SIZE >
+	       mask + 1) {
+	    grow();
+	}
+
+	int last   = words.length - 1;
+	int word   = (tail & mask) >>> 6;
+	int offset = tail & (Long.SIZE - 1);
+	if (offset == 0) {
+	    for (int i = 0; i < count; i += 1) {
+		words[(word + i) & last] = packedBits[i];
+	    }
+	} else {
+	    long kept = -1L << (Long.SIZE - offset);
+	    for (int i = 0; i < count; i += 1) {
+		int  at    = (word + i) & last;
+		long value = packedBits[i];
+		words[at]              = (words[at] & kept) | (value >>> offset);
+		words[(at + 1) & last] = value << (Long.SIZE - offset);
+	    }
+	}
+	tail += bitCount;
+
+    } // add ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Remove the eight oldest bits and return them as a byte, the oldest bit
+     * being the most significant.
+     *
+     * @return the byte assembled from the removed bits.
+     * @throws IllegalStateException if fewer than eight bits are buffered.
+     */
+    public byte removeByte () {
+
+	if (size() < Byte.SIZE) {
+	    throw new IllegalStateException("Fewer than a byte of bits buffered");
+	}
+
+	int position = head & mask;
+	int word     = position >>> 6;
+	int offset   = position & (Long.SIZE - 1);
+	int value;
+	if (offset <= Long.SIZE - Byte.SIZE) {
+
+	    // The whole byte lies within one word.
+	    value = (int)(words[word] >>> (Long.SIZE - Byte.SIZE - offset));
+
+	} else {
+
+	    // The byte straddles two words: take the low bits of this word
+	    // and the high bits of the next.
+	    int next = (word + 1) & (words.length - 1);
+	    value = (int)((words[word] << (offset - (Long.SIZE - Byte.SIZE))) |
+			  (words[next] >>> (2 * Long.SIZE - Byte.SIZE - offset)));
+
+	}
+	head += Byte.SIZE;
+
+	return (byte)value;
+
+    } // removeByte ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Discard every buffered bit.
+     */
+    public void clear () {
+
+	head = tail;
+
+    } // clear ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Double the capacity of the buffer, preserving the order of the buffered
+     * bits and moving the oldest to the start of the new storage.
+     */
+    private void grow () {
+
+	long[] grown = new long[words.length * 2];
+	int    size  = size();
+	for (int i = 0; i < size; i += 1) {
+	    int position = (head + i) & mask;
+	    if ((words[position >>> 6] &
+		 (1L << (Long.SIZE - 1 - (position & (Long.SIZE - 1))))) != 0) {
+		grown[i >>> 6] |= 1L << (Long.SIZE - 1 - (i & (Long.SIZE - 1)));
+	    }
+	}
+
+	words = grown;
+	mask  = words.length * Long.SIZE - 1;
+	head  = 0;
+	tail  = size;
+
+    } // grow ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The packed bits, most significant first within each word. */
+    private long[] words;
+
+    /** One less than the capacity in bits, used to wrap positions. */
+    private int    mask;
+
+    /** The running count of bits removed; the oldest bit's position. */
+    private int    head;
+
+    /** The running count of bits added; the next free bit's position. */
+    private int    tail;
+
+    /** The number of bits for which room is made by default. */
+    private static final int DEFAULT_CAPACITY = 1024;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class BitRingBuffer
+// =============================================================================
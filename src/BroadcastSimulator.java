@@ -0,0 +1,190 @@
+// =============================================================================
+// IMPORTS
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Random;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * Simulates many stations sharing one medium, each host on a thread of its
+ * own, to show how far the simulator scales.  One host broadcasts a block of
+ * random data, and every other host on the medium receives it; the run ends
+ * once all of them have all of it, or nothing more has arrived for a while.
+ * The first data is given longer, since it waits on every thread starting up.
+ *
+ * Only one host sends, since the medium has no addressing and no control of
+ * access: frames sent at once by several hosts would interleave.  For the
+ * same reason, the data link layer should be one that sends nothing back,
+ * such as <code>Parity</code> or <code>FEC</code>.  For example, to run ten
+ * thousand hosts:
+ *
+ * <pre>
+ *   java BroadcastSimulator Perfect Parity 10000 100
+ *   java -Dthreads=platform BroadcastSimulator Perfect Parity 1000 100
+ * </pre>
+ *
+ * @file   BroadcastSimulator.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class BroadcastSimulator {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * The entry point.  Interpret the command-line arguments, aborting if they
+     * are invalid, and then run the simulation.
+     *
+     * @param args The command-line arguments.
+     */
+    public static void main (String[] args) throws InterruptedException {
+
+	// Check the number of arguments passed.
+	if (args.length != 4) {
+
+	    System.err.println("Usage: java BroadcastSimulator " +
+			       "<medium type> "                  +
+			       "<data link layer type> "         +
+			       "<number of hosts> "              +
+			       "<number of bytes>");
+	    System.exit(1);
+
+	}
+
+	// Assign names to the arguments.
+	String mediumType        = args[0];
+	String dataLinkLayerType = args[1];
+	int    hostCount         = Integer.parseInt(args[2]);
+	int    byteCount         = Integer.parseInt(args[3]);
+	if (hostCount < 2) {
+	    throw new RuntimeException("At least two hosts are needed");
+	}
+
+	// The data to broadcast.
+	byte[] data = new byte[byteCount];
+	new Random(SEED).nextBytes(data);
+
+	// Create the medium, then the hosts, the first of which is the sender.
+	Medium medium = Medium.create(mediumType);
+	Host[] hosts  = new Host[hostCount];
+	for (int i = 0; i < hostCount; i += 1) {
+	    hosts[i] = new Host(medium, dataLinkLayerType);
+	}
+
+	simulate(hosts, data);
+
+    } // main ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Start every host, have the first broadcast the data to the rest, and
+     * report how many received it intact and how long that took.
+     *
+     * @param hosts The hosts, the first of which is the sender.
+     * @param data  The data to broadcast.
+     */
+    private static void simulate (Host[] hosts, byte[] data)
+	throws InterruptedException {
+
+	// Start a thread for each host.
+	long     start   = System.nanoTime();
+	Thread[] threads = new Thread[hosts.length];
+	for (int i = 0; i < hosts.length; i += 1) {
+	    threads[i] = hosts[i].start();
+	}
+	long started = System.nanoTime();
+	System.out.printf("Started %d hosts on %s threads in %.3f s\n",
+			  hosts.length,
+			  Host.isVirtual(threads[0]) ? "virtual" : "platform",
+			  (started - start) / 1e9);
+
+	// Broadcast, and collect what arrives at each receiver until all of
+	// it has, or until nothing has for a while: at first, for long enough
+	// that every thread has started and the first frame is through.
+	ByteArrayOutputStream[] received =
+	    new ByteArrayOutputStream[hosts.length];
+	for (int i = 1; i < hosts.length; i += 1) {
+	    received[i] = new ByteArrayOutputStream();
+	}
+	int     complete     = 0;
+	boolean arrivedAny   = false;
+	long    lastProgress = started;
+	long    finish       = started;
+	hosts[0].send(data);
+	while (complete < hosts.length - 1 &&
+	       System.nanoTime() - lastProgress <
+	       (arrivedAny ? QUIET_NS : FIRST_ARRIVAL_NS)) {
+
+	    Thread.sleep(POLL_MS);
+	    complete = 0;
+	    for (int i = 1; i < hosts.length; i += 1) {
+		byte[] arrived = hosts[i].retrieve();
+		if (arrived.length > 0) {
+		    received[i].write(arrived, 0, arrived.length);
+		    arrivedAny   = true;
+		    lastProgress = System.nanoTime();
+		    finish       = lastProgress;
+		}
+		if (received[i].size() >= data.length) {
+		    complete += 1;
+		}
+	    }
+
+	}
+
+	// Stop every host, and wait for its thread to end.
+	for (int i = 0; i < hosts.length; i += 1) {
+	    hosts[i].stop();
+	}
+	for (int i = 0; i < hosts.length; i += 1) {
+	    threads[i].join();
+	}
+
+	// Only intact data counts.
+	int intact = 0;
+	for (int i = 1; i < hosts.length; i += 1) {
+	    if (Arrays.equals(data, received[i].toByteArray())) {
+		intact += 1;
+	    }
+	}
+	System.out.printf("%d of %d receivers got %d bytes intact in %.3f s\n",
+			  intact,
+			  hosts.length - 1,
+			  data.length,
+			  (finish - started) / 1e9);
+
+    } // simulate ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The seed from which the data to broadcast is generated. */
+    private static final long SEED             = 2026;
+
+    /** How often to collect what the receivers have received. */
+    private static final long POLL_MS          = 10;
+
+    /** How long without progress before giving up on the rest of the data. */
+    private static final long QUIET_NS         = 2000L * 1000000L;
+
+    /** How long to wait for any data to arrive before giving up on it all. */
+    private static final long FIRST_ARRIVAL_NS = 60L * 1000L * 1000000L;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class BroadcastSimulator
+// =============================================================================
@@ -0,0 +1,41 @@
+// =============================================================================
+/**
+ * A wait strategy that never waits: the event loop spins, keeping latency at
+ * its lowest at the cost of a full core per layer.
+ *
+ * @file   BusySpinWaitStrategy.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class BusySpinWaitStrategy extends WaitStrategy {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Hint to the processor that the loop is spinning, and return at once.
+     *
+     * @param deadline Ignored.
+     */
+    public void idle (long deadline) {
+
+	Thread.onSpinWait();
+
+    } // idle ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Nothing to do; the loop never stops to wait for a signal.
+     */
+    public void signal () {}
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class BusySpinWaitStrategy
+// =============================================================================
@@ -0,0 +1,339 @@
+// =============================================================================
+// IMPORTS
+
+import java.nio.ByteBuffer;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A growable ring buffer of bytes with head and tail indices.  Buffered bytes
+ * can be examined by index relative to the oldest, which lets frame
+ * processing scan the buffer without an iterator and without boxing.  Not
+ * thread-safe; it is meant to be owned by a single data link layer.
+ *
+ * @file   ByteRingBuffer.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class ByteRingBuffer {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create an empty buffer with the default capacity.
+     */
+    public ByteRingBuffer () {
+
+	this(DEFAULT_CAPACITY);
+
+    } // ByteRingBuffer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create an empty buffer able to hold at least the given number of bytes
+     * before growing.
+     *
+     * @param capacity The initial number of bytes to make room for.
+     */
+    public ByteRingBuffer (int capacity) {
+
+	// Round up to a power of two so that positions wrap with a mask.
+	int length = 1;
+	while (length < capacity) {
+	    length <<= 1;
+	}
+	buffer = new byte[length];
+
+    } // ByteRingBuffer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of bytes currently buffered.
+     */
+    public int size () {
+
+	return tail - head;
+
+    } // size ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return whether no bytes are buffered.
+     */
+    public boolean isEmpty () {
+
+	return tail == head;
+
+    } // isEmpty ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Append one byte to the end of the buffer.
+     *
+     * @param value The byte to append.
+     */
+    public void add (byte value) {
+
+	if (size() == buffer.length) {
+	    grow();
+	}
+	buffer[tail & (buffer.length - 1)] = value;
+	tail += 1;
+
+    } // add ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Append a sequence of bytes to the end of the buffer.
+     *
+     * @param source The array holding the bytes.
+     * @param offset The position in the array of the first byte.
+     * @param length The number of bytes to append.
+     */
+    public void add (byte[] source, int offset, int length) {
+
+	while (buffer.length - size() < length) {
+	    grow();
+	}
+
+	// Copy up to the end of the storage, then wrap around to its start.
+	int start = tail & (buffer.length - 1);
+	int first = Math.min(length, buffer.length - start);
+	System.arraycopy(source, offset, buffer, start, first);
+	System.arraycopy(source, offset + first, buffer, 0, length - first);
+	tail += length;
+
+    } // add ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Examine a buffered byte without removing it.
+     *
+     * @param  index The position of the byte, where <code>0</code> is the
+     *               oldest.
+     * @return the byte at that position.
+     * @throws IndexOutOfBoundsException if no byte is buffered at that
+     *                                   position.
+     */
+    public byte get (int index) {
+
+	if (index < 0 || index >= size()) {
+	    throw new IndexOutOfBoundsException("Index " + index +
+						" with size " + size());
+	}
+	return buffer[(head + index) & (buffer.length - 1)];
+
+    } // get ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Remove and return the oldest buffered byte.
+     *
+     * @return the removed byte.
+     * @throws IllegalStateException if the buffer is empty.
+     */
+    public byte remove () {
+
+	if (isEmpty()) {
+	    throw new IllegalStateException("Empty buffer");
+	}
+	byte value = buffer[head & (buffer.length - 1)];
+	head += 1;
+
+	return value;
+
+    } // remove ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Remove up to a given number of the oldest buffered bytes, copying them
+     * out.
+     *
+     * @param  destination The array into which to copy the bytes.
+     * @param  offset      The position in the array of the first byte.
+     * @param  length      The most bytes to remove.
+     * @return the number of bytes removed.
+     */
+    public int remove (byte[] destination, int offset, int length) {
+
+	// Copy up to the end of the storage, then wrap around to its start.
+	int count = Math.min(length, size());
+	int start = head & (buffer.length - 1);
+	int first = Math.min(count, buffer.length - start);
+	System.arraycopy(buffer, start, destination, offset, first);
+	System.arraycopy(buffer, 0, destination, offset + first, count - first);
+	head += count;
+
+	return count;
+
+    } // remove ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Remove a leading number of bytes from the buffer.
+     *
+     * @param count The number of oldest bytes to drop.
+     * @throws IndexOutOfBoundsException if fewer than that many bytes are
+     *                                   buffered.
+     */
+    public void discard (int count) {
+
+	if (count < 0 || count > size()) {
+	    throw new IndexOutOfBoundsException("Discard " + count +
+						" with size " + size());
+	}
+	head += count;
+
+    } // discard ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * View the buffered bytes as a byte buffer whose position is the oldest
+     * byte and whose limit follows the newest.  If the bytes wrap around the
+     * end of the storage, they are first moved to be contiguous.  The view is
+     * reused, and it is valid only until the ring buffer is next modified.
+     *
+     * @return the view of the buffered bytes.
+     */
+    public ByteBuffer view () {
+
+	// Move wrapped bytes into the spare storage, oldest first.
+	int start = head & (buffer.length - 1);
+	int size  = size();
+	if (start + size > buffer.length) {
+
+	    if (spare == null) {
+		spare = new byte[buffer.length];
+	    }
+	    int first = buffer.length - start;
+	    System.arraycopy(buffer, start, spare, 0, first);
+	    System.arraycopy(buffer, 0, spare, first, size - first);
+
+	    byte[]     swap     = buffer;
+	    ByteBuffer swapView = view;
+	    buffer    = spare;
+	    spare     = swap;
+	    view      = spareView;
+	    spareView = swapView;
+	    start     = 0;
+	    head   = 0;
+	    tail   = size;
+
+	}
+
+	// Aim a view of the current storage at the buffered bytes.
+	if (view == null || !view.hasArray() || view.array() != buffer) {
+	    view = ByteBuffer.wrap(buffer);
+	}
+	view.clear();
+	view.position(start);
+	view.limit(start + size);
+
+	return view;
+
+    } // view ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Double the capacity of the buffer, moving the oldest byte to the start of
+     * the new storage.
+     */
+    private void grow () {
+
+	byte[] grown = new byte[buffer.length * 2];
+	int    size  = size();
+	int    start = head & (buffer.length - 1);
+	int    first = Math.min(size, buffer.length - start);
+	System.arraycopy(buffer, start, grown, 0, first);
+	System.arraycopy(buffer, 0, grown, first, size - first);
+
+	buffer    = grown;
+	spare     = null;
+	spareView = null;
+	head      = 0;
+	tail   = size;
+
+    } // grow ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The storage, whose length is always a power of two. */
+    private byte[]     buffer;
+
+    /** Storage of the same length into which wrapped bytes are moved. */
+    private byte[]     spare;
+
+    /** The view of the storage last returned by <code>view()</code>. */
+    private ByteBuffer view;
+
+    /** The view of the spare storage, kept so that swapping makes none. */
+    private ByteBuffer spareView;
+
+    /** The running count of bytes removed; the oldest byte's position. */
+    private int        head;
+
+    /** The running count of bytes added; the next free byte's position. */
+    private int        tail;
+
+    /** The number of bytes for which room is made by default. */
+    private static final int DEFAULT_CAPACITY = 256;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class ByteRingBuffer
+// =============================================================================
@@ -0,0 +1,215 @@
+// =============================================================================
+// IMPORTS
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * Frames a body of bytes with start and stop tags, preceding any body byte
+ * that is itself a tag with an escape tag.  A body full of tags takes twice
+ * its length.
+ *
+ * @file   ByteStuffingFramer.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class ByteStuffingFramer extends Framer {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Embed the remaining bytes of a body into a frame.
+     *
+     * @param body The bytes to be framed, which are consumed.
+     * @param dst  The buffer into which to write the frame.
+     */
+    public void encode (ByteBuffer body, ByteBuffer dst) {
+
+	// Begin with the start tag.
+	dst.put(startTag);
+
+	// Add each byte of the body.
+	while (body.hasRemaining()) {
+
+	    byte currentByte = body.get();
+
+	    // If the current byte is itself a metadata tag, then precede it
+	    // with an escape tag.
+	    if ((currentByte == startTag) ||
+		(currentByte == stopTag) ||
+		(currentByte == escapeTag)) {
+
+		dst.put(escapeTag);
+
+	    }
+
+	    // Add the byte itself.
+	    dst.put(currentByte);
+
+	}
+
+	// End with a stop tag.
+	dst.put(stopTag);
+
+    } // encode ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  bodyLength The number of body bytes to be framed.
+     * @return the largest number of bytes a frame of such a body may take:
+     *         every byte escaped, plus the two tags.
+     */
+    public int maxEncodedLength (int bodyLength) {
+
+	return 2 * bodyLength + 2;
+
+    } // maxEncodedLength ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Consume received bytes until a complete frame has been, and return its
+     * body, with the framing removed.  Each byte is examined exactly once: the
+     * part of a frame received so far, and whether its last byte was an
+     * escape, are kept between calls.  Note that any data preceding an
+     * unescaped start tag is assumed to be part of a damaged frame, and is
+     * thus discarded.
+     *
+     * @param  in The received bytes, starting at the oldest.  Its position is
+     *            advanced past every byte examined.
+     * @return If the input completes a frame, its body, valid until the next
+     *         call; <code>null</code> otherwise.
+     */
+    public FrameView decode (ByteBuffer in) {
+
+	while (in.hasRemaining()) {
+
+	    // Take the next byte.  In the state...
+	    //   (a) Hunting: Discard it, unless it is a start tag.
+	    //   (b) Escaped: Take it as literal data.
+	    //   (c) Framing: If it is...
+	    //       (i)   An escape tag: Take what follows as literal data.
+	    //       (ii)  A stop tag:    End extraction.
+	    //       (iii) A start tag:   All that precedes is damaged, so
+	    //                            restart extraction.
+	    //       (iv)  Otherwise:     Take it as literal data.
+	    byte current = in.get();
+	    if (state == HUNTING) {
+		if (current == startTag) {
+		    extracted = 0;
+		    state     = FRAMING;
+		}
+	    } else if (state == ESCAPED) {
+		extracted = extract(extracted, current);
+		state     = FRAMING;
+	    } else if (current == escapeTag) {
+		state = ESCAPED;
+	    } else if (current == stopTag) {
+		state = HUNTING;
+
+		if (DataLinkLayer.debug) {
+		    System.out.println("ByteStuffingFramer.decode(): " +
+				       "Got whole frame!");
+		}
+
+		return body.set(bodyBytes, 0, extracted);
+	    } else if (current == startTag) {
+		extracted = 0;
+	    } else {
+		extracted = extract(extracted, current);
+	    }
+
+	}
+
+	// The frame, if any, is incomplete.
+	return null;
+
+    } // decode ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Append a byte to the body being extracted, making more room if needed.
+     *
+     * @param  count The number of bytes already extracted.
+     * @param  value The byte to append.
+     * @return the new number of bytes extracted.
+     */
+    private int extract (int count, byte value) {
+
+	if (count == bodyBytes.length) {
+	    bodyBytes = Arrays.copyOf(bodyBytes, 2 * count);
+	}
+	bodyBytes[count] = value;
+
+	return count + 1;
+
+    } // extract ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The start tag. */
+    private final byte startTag  = (byte)'{';
+
+    /** The stop tag. */
+    private final byte stopTag   = (byte)'}';
+
+    /** The escape tag. */
+    private final byte escapeTag = (byte)'\\';
+
+    /** Discarding bytes until a start tag. */
+    private static final int HUNTING = 0;
+
+    /** Extracting a frame's body. */
+    private static final int FRAMING = 1;
+
+    /** Extracting a frame's body, just after an escape tag. */
+    private static final int ESCAPED = 2;
+
+    /** Scratch space for the body extracted from a frame. */
+    private byte[]    bodyBytes = new byte[2 * DataLinkLayer.MAX_FRAME_SIZE];
+
+    /** The number of body bytes extracted so far. */
+    private int       extracted = 0;
+
+    /** Which part of a frame the next byte belongs to. */
+    private int       state     = HUNTING;
+
+    /** The view handed out for each extracted body. */
+    private FrameView body      = new FrameView();
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class ByteStuffingFramer
+// =============================================================================
@@ -0,0 +1,212 @@
+// =============================================================================
+// IMPORTS
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * Frames a body with consistent-overhead byte stuffing (COBS): the body's
+ * zero bytes are removed, and the body is instead split into blocks, each
+ * preceded by a code byte giving the distance to the next removed zero.  With
+ * no zeros left in it, the encoded body is followed by a single zero as the
+ * delimiter.  A block holds at most 254 bytes, so a frame costs one byte per
+ * 254 of body plus two, whatever the body holds.
+ *
+ * @file   COBSFramer.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class COBSFramer extends Framer {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Embed the remaining bytes of a body into a frame.
+     *
+     * @param body The bytes to be framed, which are consumed.
+     * @param dst  The buffer into which to write the frame.
+     */
+    public void encode (ByteBuffer body, ByteBuffer dst) {
+
+	// Leave room for the first block's code, which is known only once the
+	// block ends.
+	int codeIndex = dst.position();
+	int code      = 1;
+	dst.put(DELIMITER);
+
+	while (body.hasRemaining()) {
+
+	    // A zero, or a full block, ends the current block.
+	    byte currentByte = body.get();
+	    if (currentByte != DELIMITER) {
+		dst.put(currentByte);
+		code += 1;
+	    }
+	    if ((currentByte == DELIMITER) || (code == MAX_CODE)) {
+		dst.put(codeIndex, (byte)code);
+		codeIndex = dst.position();
+		code      = 1;
+		dst.put(DELIMITER);
+	    }
+
+	}
+
+	// Close the last block, then end the frame.
+	dst.put(codeIndex, (byte)code);
+	dst.put(DELIMITER);
+
+    } // encode ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  bodyLength The number of body bytes to be framed.
+     * @return the largest number of bytes a frame of such a body may take:
+     *         the body, a code byte per full block plus one, and the
+     *         delimiter.
+     */
+    public int maxEncodedLength (int bodyLength) {
+
+	return bodyLength + bodyLength / (MAX_CODE - 1) + 2;
+
+    } // maxEncodedLength ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Consume received bytes until a complete frame has been, and return its
+     * body, with the framing removed.  Each byte is examined exactly once: the
+     * part of a frame decoded so far, and the position within its current
+     * block, are kept between calls.  Empty frames, which only noise creates,
+     * are discarded.  A frame whose codes do not fit its length yields an
+     * empty body.
+     *
+     * @param  in The received bytes, starting at the oldest.  Its position is
+     *            advanced past every byte examined.
+     * @return If the input completes a frame, its body, valid until the next
+     *         call; <code>null</code> otherwise.
+     */
+    public FrameView decode (ByteBuffer in) {
+
+	while (in.hasRemaining()) {
+
+	    byte current = in.get();
+
+	    // The delimiter ends the frame, unless none has begun.  The last
+	    // block must be complete.
+	    if (current == DELIMITER) {
+
+		if (code == 0) {
+		    continue;
+		}
+		int length = (remaining == 0) ? extracted : 0;
+		code      = 0;
+		remaining = 0;
+		extracted = 0;
+
+		if (DataLinkLayer.debug) {
+		    System.out.println("COBSFramer.decode(): Got whole frame!");
+		}
+
+		return body.set(bodyBytes, 0, length);
+
+	    }
+
+	    // A code begins each block.  Since another block follows, restore
+	    // the zero that the last one's code, if short of a full block,
+	    // stood for.  Anything else is data.
+	    if (remaining == 0) {
+		if ((code != 0) && (code < MAX_CODE)) {
+		    extracted = extract(extracted, DELIMITER);
+		}
+		code      = current & 0xff;
+		remaining = code - 1;
+	    } else {
+		extracted = extract(extracted, current);
+		remaining -= 1;
+	    }
+
+	}
+
+	// The frame, if any, is incomplete.
+	return null;
+
+    } // decode ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Append a byte to the body being extracted, making more room if needed.
+     *
+     * @param  count The number of bytes already extracted.
+     * @param  value The byte to append.
+     * @return the new number of bytes extracted.
+     */
+    private int extract (int count, byte value) {
+
+	if (count == bodyBytes.length) {
+	    bodyBytes = Arrays.copyOf(bodyBytes, 2 * count);
+	}
+	bodyBytes[count] = value;
+
+	return count + 1;
+
+    } // extract ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The byte that ends every frame, and appears nowhere else. */
+    private static final byte DELIMITER = 0;
+
+    /** The code of a full block, which holds 254 bytes and no removed zero. */
+    private static final int  MAX_CODE  = 0xff;
+
+    /** Scratch space for the body extracted from a frame. */
+    private byte[]    bodyBytes = new byte[2 * DataLinkLayer.MAX_FRAME_SIZE];
+
+    /** The number of body bytes extracted so far. */
+    private int       extracted = 0;
+
+    /** The code of the current block; 0 if no frame has begun. */
+    private int       code      = 0;
+
+    /** The number of data bytes still to come in the current block. */
+    private int       remaining = 0;
+
+    /** The view handed out for each extracted body. */
+    private FrameView body      = new FrameView();
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class COBSFramer
+// =============================================================================
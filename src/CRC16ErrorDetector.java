@@ -0,0 +1,95 @@
+// =============================================================================
+/**
+ * A CRC-16-CCITT check (polynomial <code>0x1021</code>, initial value
+ * <code>0xFFFF</code>), computed a byte at a time from a precomputed table.
+ * It catches every error of up to three flipped bits, and every burst of up
+ * to sixteen, in a frame of this simulation's size.
+ *
+ * @file   CRC16ErrorDetector.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class CRC16ErrorDetector extends ErrorDetector {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the two CRC bytes.
+     */
+    public int length () {
+
+	return 2;
+
+    } // length ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  data   The array holding the bytes.
+     * @param  offset The index of the first byte to cover.
+     * @param  length The number of bytes to cover.
+     * @return the CRC of the bytes.
+     */
+    public long calculate (byte[] data, int offset, int length) {
+
+	int crc = INITIAL_VALUE;
+	for (int i = offset; i < offset + length; i += 1) {
+	    crc = ((crc << 8) ^ TABLE[((crc >>> 8) ^ data[i]) & 0xff]) & 0xffff;
+	}
+
+	return crc;
+
+    } // calculate ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Compute, for each value of the leading byte, what dividing it by the
+     * polynomial contributes to the remainder.
+     *
+     * @return the table.
+     */
+    private static int[] buildTable () {
+
+	int[] table = new int[256];
+	for (int value = 0; value < table.length; value += 1) {
+	    int remainder = value << 8;
+	    for (int bit = 0; bit < Byte.SIZE; bit += 1) {
+		remainder = (((remainder & 0x8000) != 0)
+			     ? (remainder << 1) ^ POLYNOMIAL
+			     : (remainder << 1));
+	    }
+	    table[value] = remainder & 0xffff;
+	}
+
+	return table;
+
+    } // buildTable ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The generator polynomial, without its leading term. */
+    private static final int   POLYNOMIAL    = 0x1021;
+
+    /** The value with which each calculation begins. */
+    private static final int   INITIAL_VALUE = 0xffff;
+
+    /** The remainder contributed by each value of a leading byte. */
+    private static final int[] TABLE         = buildTable();
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class CRC16ErrorDetector
+// =============================================================================
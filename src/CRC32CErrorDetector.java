@@ -0,0 +1,66 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.zip.CRC32C;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A CRC-32C (Castagnoli) check, computed by the library's implementation,
+ * which uses the processor's CRC instructions where it has them.
+ *
+ * @file   CRC32CErrorDetector.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class CRC32CErrorDetector extends ErrorDetector {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the four CRC bytes.
+     */
+    public int length () {
+
+	return 4;
+
+    } // length ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  data   The array holding the bytes.
+     * @param  offset The index of the first byte to cover.
+     * @param  length The number of bytes to cover.
+     * @return the CRC of the bytes.
+     */
+    public long calculate (byte[] data, int offset, int length) {
+
+	crc.reset();
+	crc.update(data, offset, length);
+
+	return crc.getValue();
+
+    } // calculate ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The checksum state, reused for every calculation. */
+    private final CRC32C crc = new CRC32C();
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class CRC32CErrorDetector
+// =============================================================================
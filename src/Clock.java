@@ -0,0 +1,49 @@
+// =============================================================================
+/**
+ * The time by which layers run their timers.  Layers driven by threads use
+ * the real <code>SYSTEM</code> clock; layers driven by a
+ * <code>Scheduler</code> use its virtual one, which stands still while events
+ * run and jumps from each event to the next.
+ *
+ * @file   Clock.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public abstract class Clock {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the current time in nanoseconds, from an arbitrary origin.
+     *         Only differences between values are meaningful, and should be
+     *         computed as with <code>System.nanoTime()</code>.
+     */
+    abstract public long nanoTime ();
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The real clock, read through <code>System.nanoTime()</code>. */
+    public static final Clock SYSTEM = new Clock() {
+	    public long nanoTime () {
+		return System.nanoTime();
+	    }
+	};
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class Clock
+// =============================================================================
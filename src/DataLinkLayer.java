@@ -1,7 +1,8 @@
 // =============================================================================
 // IMPORTS
 
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
 import java.util.LinkedList;
 import java.util.Queue;
 import java.util.Iterator;
@@ -86,6 +87,9 @@ public abstract class DataLinkLayer {
 	dataLinkLayer.physicalLayer = physicalLayer;
 	physicalLayer.register(dataLinkLayer);
 	dataLinkLayer.register(host);
+
+	// Count the link's events into the medium's totals too.
+	dataLinkLayer.metrics.countInto(physicalLayer.getMedium().getMetrics());
 	
 	return dataLinkLayer;
 
@@ -100,10 +104,28 @@ public abstract class DataLinkLayer {
      */
     public DataLinkLayer () {
 
+	if (MAX_FRAME_SIZE < 1) {
+	    throw new RuntimeException("Frame size of " + MAX_FRAME_SIZE +
+				       " bytes is too small");
+	}
+
 	// Create incoming buffer space.
-	bitBuffer     = new LinkedList<Boolean>();
-	receiveBuffer = new LinkedList<Byte>();
-	sendBuffer    = new ConcurrentLinkedQueue<Byte>();
+	bitBuffer     = new BitRingBuffer();
+	receiveBuffer = new ByteRingBuffer();
+	sendBuffer    = new SendBuffer(this::signal);
+
+	// Idle the event loop, and delimit and check frames, as configured.
+	waitStrategy  = WaitStrategy.create(DEFAULT_WAIT_STRATEGY);
+	framer        = Framer.create(DEFAULT_FRAMING);
+	errorDetector = ErrorDetector.create(DEFAULT_ERROR_DETECTOR);
+
+	// Publish what this layer does.
+	metrics       = new LinkMetrics("DataLinkLayer", this);
+
+	// Use the codec contract if the subclass provides it.
+	codec         = ((this instanceof FrameCodec)
+			 ? (FrameCodec)this
+			 : null);
         
     } // DataLinkLayer ()
     // =========================================================================
@@ -134,40 +156,144 @@ public abstract class DataLinkLayer {
 
     // =========================================================================
     /**
-     * The event loop.  If there is buffered data to send, frame and transmit
-     * it; if bits are received, process and deliver them one frame at a time.
+     * @return the counts of what this layer has done.
+     */
+    public LinkMetrics getMetrics () {
+
+	return metrics;
+
+    } // getMetrics ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * The event loop.  Repeatedly do a round of work; whenever a round finds
+     * nothing to do, the wait strategy decides how to idle until the next
+     * signal or deadline.
+     *
+     * @see step()
      */
     public void go () {
 
         // Event loop.
         doEventLoop = true;
         while (doEventLoop) {
+	    iterate();
+        } // Event loop
 
-            // If there is buffered data to send, then frame and send it.
-            if (sendBuffer.peek() != null) {
-                Queue<Byte> framedData = sendNextFrame();
-                if (framedData != null) {
-                    finishFrameSend(framedData);
-                }
-            }
+	// The link is done; its metrics remain readable through the layer.
+	metrics.unregister();
 
-            // If there are received buffered bits, process them.
-            receive();
+    } // go ()
+    // =========================================================================
 
-            // If there are received buffered bytes, try to process a frame.
-            if (receiveBuffer.peek() != null) {
-                Queue<Byte> receivedFrame = processFrame();
-                if (receivedFrame != null) {
-                    finishFrameReceive(receivedFrame);
-                }
-            }
 
-	    // Check whether a timeout action needs to be taken.
-	    checkTimeout();
 
-        } // Event loop
+    // =========================================================================
+    /**
+     * Run the event loop on a scheduler, rather than on a thread calling
+     * <code>go()</code>: each iteration becomes an event, and timers run on
+     * the scheduler's virtual clock.  Should be called before any data is
+     * sent.
+     *
+     * @param scheduler The scheduler on which to run.
+     */
+    public void start (Scheduler scheduler) {
 
-    } // go ()
+	// The scheduler's one thread cannot block for room to send.
+	clock        = scheduler;
+	sendBuffer.setPolicy(SendBuffer.Policy.FUTURE);
+	waitStrategy = new ScheduledWaitStrategy(scheduler, () -> {
+		if (doEventLoop) {
+		    iterate();
+		} else {
+		    metrics.unregister();
+		}
+	    });
+	doEventLoop  = true;
+	signal();
+
+    } // start ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Do one round of the event loop's work.  If there is buffered data to
+     * send, frame and transmit some of it; if bits have been received, gather
+     * them, and process and deliver at most one frame; and take any timeout
+     * action that is due.  A subclass that implements <code>FrameCodec</code>
+     * is driven through that interface rather than the queue-based frame
+     * methods.
+     *
+     * @return whether any work was done.
+     */
+    protected boolean step () {
+
+	// Note whether this round does any work.
+	boolean progress = false;
+
+	// If there is buffered data to send, then frame and send it.
+	if (!sendBuffer.isEmpty()) {
+	    if (codec != null) {
+		ByteBuffer encodedFrame = sendNextEncodedFrame();
+		if (encodedFrame != null) {
+		    progress = true;
+		    codec.finishFrameSend(encodedFrame);
+		}
+	    } else {
+		Queue<Byte> framedData = sendNextFrame();
+		if (framedData != null) {
+		    progress = true;
+		    finishFrameSend(framedData);
+		}
+	    }
+	}
+
+	// If there are received buffered bits, process them.
+	int bufferedBits  = bitBuffer.size();
+	int bufferedBytes = receiveBuffer.size();
+	receive();
+	progress |= ((bitBuffer.size()     != bufferedBits) ||
+		     (receiveBuffer.size() != bufferedBytes));
+
+	// If there are received buffered bytes, try to process a frame.
+	if (!receiveBuffer.isEmpty()) {
+	    bufferedBytes = receiveBuffer.size();
+	    long start = FrameEvent.Received.KIND.started();
+	    if (codec != null) {
+		FrameView receivedFrame = decodeFrame();
+		if (receivedFrame != null) {
+		    framesReceived += 1;
+		    FrameEvent.Received.KIND.emitSince(framesReceived,
+						       receivedFrame.length(),
+						       start);
+		    metrics.countFrameReceived();
+		    codec.finishFrameReceive(receivedFrame);
+		}
+	    } else {
+		Queue<Byte> receivedFrame = processFrame();
+		if (receivedFrame != null) {
+		    framesReceived += 1;
+		    FrameEvent.Received.KIND.emitSince(framesReceived,
+						       receivedFrame.size(),
+						       start);
+		    metrics.countFrameReceived();
+		    finishFrameReceive(receivedFrame);
+		}
+	    }
+	    progress |= (receiveBuffer.size() != bufferedBytes);
+	}
+
+	// Check whether a timeout action needs to be taken.
+	checkTimeout();
+
+	return progress;
+
+    } // step ()
     // =========================================================================
 
 
@@ -179,29 +305,111 @@ public abstract class DataLinkLayer {
     public void stop () {
 
         doEventLoop = false;
+	signal();
 
     } // stop ()
     // =========================================================================
     
 
 
+    // =========================================================================
+    /**
+     * Wake the event loop because there may be new work for it, such as
+     * buffered data to send or received bits to process.  May be called from
+     * any thread.
+     */
+    public void signal () {
+
+	waitStrategy.signal();
+
+    } // signal ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Replace the strategy by which the event loop idles.  Should be called
+     * before the event loop is started.
+     *
+     * @param waitStrategy The strategy to use.
+     */
+    public void setWaitStrategy (WaitStrategy waitStrategy) {
+
+	this.waitStrategy = waitStrategy;
+
+    } // setWaitStrategy ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Replace the check with which frames are protected.  Both ends of a link
+     * must use the same kind.  Should be called before the event loop is
+     * started.
+     *
+     * @param errorDetector The detector to use.
+     * @throws RuntimeException if the detector's check is longer than
+     *                          <code>ErrorDetector.MAX_LENGTH</code>.
+     */
+    public void setErrorDetector (ErrorDetector errorDetector) {
+
+	if (errorDetector.length() > ErrorDetector.MAX_LENGTH) {
+	    throw new RuntimeException("Check of " + errorDetector.length() +
+				       " bytes is too long");
+	}
+	this.errorDetector = errorDetector;
+
+    } // setErrorDetector ()
+    // =========================================================================
+
+
+
     // =========================================================================
     /**
      * Send a sequence of bytes through the physical layer.  Expected to be
      * called by the client.  Buffers the data; actual sending is triggered by
-     * the event loop.
+     * the event loop.  If the buffer is full, the send blocks, fails, or
+     * completes later, as the buffer's policy directs.
      *
-     * @param data The sequence of bytes to send.
-     * @see   go()
+     * @param  data The sequence of bytes to send.
+     * @return a future that completes once all of the data is buffered.
+     * @throws IllegalStateException if the buffer's policy is to fail and the
+     *                               data does not fit.
+     * @see    go()
+     * @see    SendBuffer
      */
-    public void send (byte[] data) {
+    public CompletableFuture<Void> send (byte[] data) {
 
-	// Add each byte to the sending buffer.
-	for (int i = 0; data != null && i < data.length; i += 1) {
-	    sendBuffer.add(data[i]);
-	}
+	// Add the data to the sending buffer, which lets the event loop know
+	// there is data to frame.
+	return sendBuffer.add((data == null) ? new byte[0] : data);
 	
-    }
+    } // send ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send the bytes of a buffer, from its position to its limit, without
+     * copying them ahead of time: frames are taken straight from the buffer as
+     * the event loop gets to them.  The buffer is lent to this layer, so the
+     * caller must not change those bytes until the returned future completes;
+     * its position and limit are left alone.  The buffer may be of any size,
+     * or direct, or mapped from a file.
+     *
+     * @param  data The buffer whose bytes to send.
+     * @return a future that completes once the last of the bytes has been
+     *         framed, and the caller may reuse the buffer.
+     * @see    SendBuffer#addReference(ByteBuffer)
+     */
+    public CompletableFuture<Void> send (ByteBuffer data) {
+
+	return sendBuffer.addReference(data);
+
+    } // send ()
     // =========================================================================
 
 
@@ -209,7 +417,10 @@ public abstract class DataLinkLayer {
     // =========================================================================
     /**
      * Extract the next frame-worth of data from the sending buffer, frame it,
-     * and then send it.
+     * and then send it.  Only a layer that is not a <code>FrameCodec</code>
+     * sends this way, boxing each byte into a queue for
+     * <code>createFrame()</code>; a codec sends by
+     * <code>sendNextEncodedFrame()</code>, which allocates nothing per frame.
      *
      * @return the frame of bytes transmitted.
      */
@@ -220,16 +431,20 @@ public abstract class DataLinkLayer {
         }
         
 	// Extract a frame-worth of data from the sending buffer.
-	int frameSize = ((sendBuffer.size() < MAX_FRAME_SIZE)
-			 ? sendBuffer.size()
-			 : MAX_FRAME_SIZE);
+	if (frameSlice == null) {
+	    frameSlice = new byte[MAX_FRAME_SIZE];
+	}
+	int frameSize = sendBuffer.take(frameSlice, 0, MAX_FRAME_SIZE);
 	Queue<Byte> data = new LinkedList<Byte>();
 	for (int j = 0; j < frameSize; j += 1) {
-	    data.add(sendBuffer.remove());
+	    data.add(frameSlice[j]);
 	}
 
 	// Create a frame from the data and transmit it.
+	long        start      = FrameEvent.Created.KIND.started();
 	Queue<Byte> framedData = createFrame(data);
+	framesCreated += 1;
+	FrameEvent.Created.KIND.emitSince(framesCreated, frameSize, start);
 	transmit(framedData);
 
         return framedData;
@@ -239,6 +454,51 @@ public abstract class DataLinkLayer {
 
 
 
+    // =========================================================================
+    /**
+     * Extract the next frame-worth of data from the sending buffer, encode it
+     * with this layer's codec, and then send it.  The codec counterpart of
+     * <code>sendNextFrame()</code>.
+     *
+     * @return the encoded frame transmitted, between its position and limit;
+     *         <code>null</code> if nothing was sent.  The buffer is reused by
+     *         the next call.
+     */
+    protected ByteBuffer sendNextEncodedFrame () {
+
+	if (sendBuffer.isEmpty()) {
+	    return null;
+	}
+
+	// Make room for the data and its frame the first time through.
+	FrameCodec codec = (FrameCodec)this;
+	if (frameData == null) {
+	    frameData    = ByteBuffer.allocate(MAX_FRAME_SIZE);
+	    encodedFrame =
+		ByteBuffer.allocate(codec.maxEncodedLength(MAX_FRAME_SIZE));
+	}
+
+	// Extract a frame-worth of data from the sending buffer.
+	frameData.clear();
+	frameData.limit(sendBuffer.take(frameData.array(), 0, MAX_FRAME_SIZE));
+
+	// Encode the data into a frame and transmit it.
+	long start = FrameEvent.Created.KIND.started();
+	int  size  = frameData.remaining();
+	encodedFrame.clear();
+	codec.encode(frameData, encodedFrame);
+	encodedFrame.flip();
+	framesCreated += 1;
+	FrameEvent.Created.KIND.emitSince(framesCreated, size, start);
+	transmit(encodedFrame);
+
+	return encodedFrame;
+
+    } // sendNextEncodedFrame ()
+    // =========================================================================
+
+
+
     // =========================================================================
     /**
      * Transmit a sequence of bytes as bits.
@@ -247,20 +507,49 @@ public abstract class DataLinkLayer {
      */
     protected void transmit (Queue<Byte> data) {
 
+	// Gather the bytes into an array...
+	if (transmitBuffer.length < data.size()) {
+	    transmitBuffer = new byte[Math.max(data.size(),
+					       transmitBuffer.length * 2)];
+	}
+	int length = 0;
 	for (byte b : data) {
+	    transmitBuffer[length] = b;
+	    length += 1;
+	}
 
-	    // Transmit one bit at a time, most to least significant.
-	    for (int i = Byte.SIZE - 1; i >= 0; i -= 1) {
+	// ...and send them all at once, most to least significant bit.
+	long start = FrameEvent.Transmitted.KIND.started();
+	physicalLayer.send(transmitBuffer, 0, length);
+	framesTransmitted += 1;
+	FrameEvent.Transmitted.KIND.emitSince(framesTransmitted,
+					      length,
+					      start);
+	metrics.countFrameSent(length);
 
-		// Grab the current bit...
-		boolean bit = ((1 << i) & b) != 0;
+    } // transmit ()
+    // =========================================================================
 
-		// ...and send it.
-		physicalLayer.send(bit);
 
-	    }
 
-	}
+    // =========================================================================
+    /**
+     * Transmit the bytes of a buffer, between its position and limit, as
+     * bits.  The buffer's position is left unchanged.
+     *
+     * @param frame The bytes to send.
+     */
+    protected void transmit (ByteBuffer frame) {
+
+	long start = FrameEvent.Transmitted.KIND.started();
+	physicalLayer.send(frame.array(),
+			   frame.arrayOffset() + frame.position(),
+			   frame.remaining());
+	framesTransmitted += 1;
+	FrameEvent.Transmitted.KIND.emitSince(framesTransmitted,
+					      frame.remaining(),
+					      start);
+	metrics.countFrameSent(frame.remaining());
 
     } // transmit ()
     // =========================================================================
@@ -269,49 +558,154 @@ public abstract class DataLinkLayer {
 
     // =========================================================================
     /**
-     * Deliver a bit into this layer.  Expected to be called by the physical
-     * layer.  Accumulate bits into a buffer, and with each full byte received,
-     * accumulate those bits into a byte buffer.  Each byte added to the buffer
-     * is examined to determine whether a whole frame has been received, and if
-     * so, then processed.
+     * Deliver data extracted from frames to the client, counting it.
+     *
+     * @param data The data to deliver.
+     */
+    protected void deliver (byte[] data) {
+
+	deliver(data, 0, data.length);
+
+    } // deliver ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Deliver data extracted from frames to the client, counting it.  The
+     * client copies the data, so it may be delivered straight from a frame
+     * buffer that is reused afterwards.
      *
-     * @param bit The value to receive, where <code>false</code> indicates a
-     *            <code>0</code>, and <code>true</code> indicates a
-     *            <code>1</code>.
+     * @param data   The array holding the data to deliver.
+     * @param offset The position in the array of the first byte.
+     * @param length The number of bytes to deliver.
+     */
+    protected void deliver (byte[] data, int offset, int length) {
+
+	long start = FrameEvent.Delivered.KIND.started();
+	client.receive(data, offset, length);
+	framesDelivered += 1;
+	FrameEvent.Delivered.KIND.emitSince(framesDelivered,
+					    length,
+					    start);
+	metrics.countFrameDelivered(length);
+
+    } // deliver ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Drain the bits received by the physical layer into this layer, some
+     * thousands at a time.  Accumulate bits into a buffer, and with each full
+     * byte received, accumulate those bits into a byte buffer, in which frames
+     * are then sought.
      */
     public void receive () {
 
-        // Transfer any available bits in the physical layer into our buffer.
-        Boolean bit = null;
-        while ((bit = physicalLayer.retrieve()) != null) {
-            bitBuffer.add(bit);
-        }
+        // Transfer the available bits in the physical layer into our buffer,
+        // a batch at a time.
+        int bitCount;
+        while ((bitCount = physicalLayer.retrieve(receivedBits)) > 0) {
+            bitBuffer.add(receivedBits, bitCount);
 
-	// If there are whole bytes of bits buffered, then transfer them to the
-	// byte buffer.
-	while (bitBuffer.size() >= Byte.SIZE) {
+	    // If there are whole bytes of bits buffered, then transfer them
+	    // to the byte buffer.
+	    while (bitBuffer.size() >= Byte.SIZE) {
 
-	    // Build up one byte from the bits...
-	    byte newByte = 0;
-	    for (int i = 0; i < Byte.SIZE; i += 1) {
-		bit = bitBuffer.remove();
-		newByte = (byte)((newByte << 1) | (bit ? 1 : 0));
-	    }
+		// Build up one byte from the bits...
+		byte newByte = bitBuffer.removeByte();
+
+		// ...and add it to the byte buffer.
+		receiveBuffer.add(newByte);
+		if (debug) {
+		    System.out.printf("DataLinkLayer.receive(): " +
+				      "Got new byte = %c\n",
+				      newByte);
+		}
 
-	    // ...and add it to the byte buffer.
-	    receiveBuffer.add(newByte);
-	    if (debug) {
-		System.out.printf("DataLinkLayer.receive(): Got new byte = %c\n",
-				  newByte);
 	    }
 
-	}
+        }
 
     } // receive ()
     // =========================================================================
 
 
 
+    // =========================================================================
+    /**
+     * Run one iteration of the event loop: a round of work, after which the
+     * wait strategy either carries on or idles until there may be more.
+     */
+    private void iterate () {
+
+	if (step()) {
+	    waitStrategy.busy();
+	} else {
+	    waitStrategy.idle(nextDeadline());
+	}
+
+    } // iterate ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Have this layer's codec embed a raw sequence of bytes into a framed
+     * sequence.  Lets a codec implement <code>createFrame()</code> by
+     * adapting to <code>encode()</code>.
+     *
+     * @param  data The raw sequence of bytes to be framed.
+     * @return A complete frame.
+     */
+    protected Queue<Byte> encodeFrame (Queue<Byte> data) {
+
+	FrameCodec codec = (FrameCodec)this;
+	FrameView  raw   = FrameView.copyOf(data);
+	ByteBuffer dst   = ByteBuffer.allocate(codec.maxEncodedLength(raw.length()));
+	codec.encode(ByteBuffer.wrap(raw.array(), raw.offset(), raw.length()),
+		     dst);
+	dst.flip();
+
+	Queue<Byte> framedData = new LinkedList<Byte>();
+	while (dst.hasRemaining()) {
+	    framedData.add(dst.get());
+	}
+
+	return framedData;
+
+    } // encodeFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Have this layer's codec try to extract a frame from the byte buffer,
+     * removing from the buffer every byte that the codec consumed.  The codec
+     * counterpart of <code>processFrame()</code>.
+     *
+     * @return if possible, the extracted data from the frame; <code>null</code>
+     *         otherwise.
+     */
+    protected FrameView decodeFrame () {
+
+	ByteBuffer received = receiveBuffer.view();
+	int        start    = received.position();
+	FrameView  frame    = ((FrameCodec)this).decode(received);
+	receiveBuffer.discard(received.position() - start);
+
+	return frame;
+
+    } // decodeFrame ()
+    // =========================================================================
+
+
+
     // =========================================================================
     /**
      * Embed a raw sequence of bytes into a framed sequence.
@@ -363,6 +757,25 @@ public abstract class DataLinkLayer {
 
 
 
+    // =========================================================================
+    /**
+     * Report when the next timed action is due, so that an idle event loop
+     * knows when it must run again even without a signal.  Layers that use
+     * timeouts should override this.
+     *
+     * @return the <code>clock</code> time by which
+     *         <code>checkTimeout()</code> should next be called, or
+     *         <code>WaitStrategy.NO_DEADLINE</code> if nothing is pending.
+     */
+    protected long nextDeadline () {
+
+	return WaitStrategy.NO_DEADLINE;
+
+    } // nextDeadline ()
+    // =========================================================================
+
+
+
     // =========================================================================
     /**
      * Determine whether a timeout should occur and be processed.  This method
@@ -384,16 +797,61 @@ public abstract class DataLinkLayer {
     protected Host           client;
 
     /** The buffer of bits recently received, building up the current byte. */
-    protected Queue<Boolean> bitBuffer;
+    protected BitRingBuffer  bitBuffer;
+
+    /** Space into which bits are drained from the physical layer. */
+    private final long[]     receivedBits = new long[RECEIVE_BATCH_WORDS];
 
     /** The buffer of bytes recently received, building up the current frame. */
-    protected Queue<Byte>    receiveBuffer;
+    protected ByteRingBuffer receiveBuffer;
 
     /** The buffer of data yet to be sent. */
-    protected Queue<Byte>    sendBuffer;
+    protected SendBuffer     sendBuffer;
+
+    /** How the start and end of each frame are marked. */
+    protected final Framer   framer;
+
+    /** The time by which timers run. */
+    protected Clock          clock = Clock.SYSTEM;
+
+    /** The counts of what this layer does. */
+    protected final LinkMetrics metrics;
+
+    /** The number of frames created, which numbers their events. */
+    protected long           framesCreated;
+
+    /** The number of intact frames received, which numbers their events. */
+    protected long           framesReceived;
+
+    /** The number of frames transmitted, which numbers their events. */
+    private   long           framesTransmitted;
+
+    /** The number of deliveries to the client, which numbers their events. */
+    private   long           framesDelivered;
+
+    /** The check with which frames are protected. */
+    protected ErrorDetector  errorDetector;
+
+    /** Scratch space for the data of the next frame to be created. */
+    private   byte[]         frameSlice;
+
+    /** Scratch space for the data of the next frame to be encoded. */
+    private   ByteBuffer     frameData;
+
+    /** Scratch space for the next encoded frame. */
+    private   ByteBuffer     encodedFrame;
+
+    /** Scratch space in which frames are gathered for transmission. */
+    private   byte[]         transmitBuffer = new byte[2 * MAX_FRAME_SIZE];
+
+    /** This layer, if it is a codec; <code>null</code> otherwise. */
+    private   final FrameCodec codec;
+
+    /** How the event loop idles when there is nothing to do. */
+    private   WaitStrategy   waitStrategy;
 
     /** Whether to continue the event loop. */
-    private   boolean        doEventLoop;
+    private   volatile boolean doEventLoop;
     // =========================================================================
 
 
@@ -401,11 +859,49 @@ public abstract class DataLinkLayer {
     // =========================================================================
     // CLASS DATA MEMBERS
 
-    /** The maximum number of original data bytes that a frame may contain. */
-    public static final int     MAX_FRAME_SIZE   = 8;
+    /**
+     * The maximum number of original data bytes that a frame may contain, as
+     * set by the <code>maxFrameSize</code> system property (by default 8).
+     */
+    public static final int     MAX_FRAME_SIZE   =
+	Integer.getInteger("maxFrameSize", 8);
 
     /** Whether to emit debugging information. */
     public static final boolean debug            = false;
+
+    /** The number of words of bits drained from the physical layer at once. */
+    private static final int    RECEIVE_BATCH_WORDS = 64;
+
+    /**
+     * The wait strategy used by new layers: <code>BusySpin</code>,
+     * <code>SpinThenYield</code>, or (by default) <code>Park</code>, as set by
+     * the <code>waitStrategy</code> system property.
+     */
+    public static final String  DEFAULT_WAIT_STRATEGY =
+	System.getProperty("waitStrategy", "Park");
+
+    /**
+     * The error detector used by new layers: <code>Parity</code>,
+     * <code>CRC32C</code>, or (by default) <code>CRC16</code>, as set by the
+     * <code>errorDetector</code> system property.
+     */
+    public static final String  DEFAULT_ERROR_DETECTOR =
+	System.getProperty("errorDetector", "CRC16");
+
+    /**
+     * The framing used by new layers: <code>COBS</code>,
+     * <code>LengthPrefixed</code>, or (by default)
+     * <code>ByteStuffing</code>, as set by the <code>framing</code> system
+     * property.
+     */
+    public static final String  DEFAULT_FRAMING =
+	System.getProperty("framing", "ByteStuffing");
+
+    // Load the flight recorder events when the first layer is created, rather
+    // than stalling its event loop on the first frame.
+    static {
+	FrameEvent.initialize();
+    }
     // =========================================================================
 
 
@@ -0,0 +1,117 @@
+// =============================================================================
+// IMPORTS
+
+import java.nio.ByteBuffer;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * Adds redundancy to a block of bytes so that the receiver can correct errors
+ * in place rather than asking for the block again.
+ *
+ * @file   ErrorCorrector.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public abstract class ErrorCorrector {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create the requested error corrector type and return it.
+     *
+     * @param  type The name of the corrector, without the
+     *              <code>ErrorCorrector</code> suffix (e.g.,
+     *              <code>"Hamming"</code>).
+     * @return The newly created error corrector.
+     * @throws RuntimeException if the given type is not a valid subclass.
+     */
+    public static ErrorCorrector create (String type) {
+
+	// Look up the class by name.
+	String className        = type + "ErrorCorrector";
+	Class<?> correctorClass = null;
+	try {
+	    correctorClass = Class.forName(className);
+	} catch (ClassNotFoundException e) {
+	    throw new RuntimeException("Unknown error corrector subclass " +
+				       className);
+	}
+
+	// Make one of these objects, and then see if it really is an
+	// ErrorCorrector subclass.
+	Object o = null;
+	try {
+	    o = correctorClass.getDeclaredConstructor().newInstance();
+	} catch (ReflectiveOperationException e) {
+	    throw new RuntimeException("Could not instantiate " + className);
+	}
+	if (!(o instanceof ErrorCorrector)) {
+	    throw new RuntimeException(className +
+				       " is not a subclass of ErrorCorrector");
+	}
+
+	return (ErrorCorrector)o;
+
+    } // create ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  dataLength The number of bytes in a block.
+     * @return the number of bytes the block takes once encoded.
+     */
+    abstract public int encodedLength (int dataLength);
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Encode a block of bytes.
+     *
+     * @param data   The array holding the block.
+     * @param offset The index of the first byte of the block.
+     * @param length The number of bytes in the block.
+     * @param dst    The buffer into which to write the
+     *               <code>encodedLength(length)</code> encoded bytes.
+     */
+    abstract public void encode (byte[] data, int offset, int length,
+				 ByteBuffer dst);
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Decode a block of bytes, correcting what errors can be corrected.
+     *
+     * @param  in     The buffer holding the encoded block at its position.  The
+     *                position is advanced past the block.
+     * @param  data   The array into which to write the decoded block.
+     * @param  length The number of bytes in the decoded block.
+     * @return the number of errors corrected, or <code>-1</code> if the block
+     *         held more errors than could be corrected.  An uncorrectable
+     *         block may also be miscorrected, which only a separate check
+     *         will catch.
+     */
+    abstract public int decode (ByteBuffer in, byte[] data, int length);
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class ErrorCorrector
+// =============================================================================
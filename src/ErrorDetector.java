@@ -0,0 +1,154 @@
+// =============================================================================
+// IMPORTS
+
+import java.nio.ByteBuffer;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * Computes the check bytes that a data link layer appends to the body of each
+ * frame, and verifies them on receipt.  The check is stored after the bytes
+ * it covers, most significant byte first.
+ *
+ * @file   ErrorDetector.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public abstract class ErrorDetector {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create the requested error detector type and return it.
+     *
+     * @param  type The name of the detector, without the
+     *              <code>ErrorDetector</code> suffix (e.g.,
+     *              <code>"CRC16"</code>).
+     * @return The newly created error detector.
+     * @throws RuntimeException if the given type is not a valid subclass.
+     */
+    public static ErrorDetector create (String type) {
+
+	// Look up the class by name.
+	String className       = type + "ErrorDetector";
+	Class<?> detectorClass = null;
+	try {
+	    detectorClass = Class.forName(className);
+	} catch (ClassNotFoundException e) {
+	    throw new RuntimeException("Unknown error detector subclass " +
+				       className);
+	}
+
+	// Make one of these objects, and then see if it really is an
+	// ErrorDetector subclass.
+	Object o = null;
+	try {
+	    o = detectorClass.getDeclaredConstructor().newInstance();
+	} catch (ReflectiveOperationException e) {
+	    throw new RuntimeException("Could not instantiate " + className);
+	}
+	if (!(o instanceof ErrorDetector)) {
+	    throw new RuntimeException(className +
+				       " is not a subclass of ErrorDetector");
+	}
+
+	return (ErrorDetector)o;
+
+    } // create ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of check bytes, at most <code>MAX_LENGTH</code>.
+     */
+    abstract public int length ();
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Compute the check over a sequence of bytes.
+     *
+     * @param  data   The array holding the bytes.
+     * @param  offset The index of the first byte to cover.
+     * @param  length The number of bytes to cover.
+     * @return the check, in the low <code>length()</code> bytes.
+     */
+    abstract public long calculate (byte[] data, int offset, int length);
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Append the check over everything written to a body so far.
+     *
+     * @param body A buffer, backed by an array, whose bytes from the start to
+     *             its position are to be covered.  The check is written at
+     *             its position.
+     */
+    public void append (ByteBuffer body) {
+
+	long check = calculate(body.array(), body.arrayOffset(),
+			       body.position());
+	for (int shift = 8 * (length() - 1); shift >= 0; shift -= 8) {
+	    body.put((byte)(check >>> shift));
+	}
+
+    } // append ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Verify the check that ends a received body.
+     *
+     * @param  body The body, ending with its check bytes.
+     * @return <code>true</code> if the body is long enough to hold a check and
+     *         the check matches a recalculation; <code>false</code> otherwise.
+     */
+    public boolean verify (FrameView body) {
+
+	int covered = body.length() - length();
+	if (covered < 0) {
+	    return false;
+	}
+
+	long received = 0;
+	for (int i = covered; i < body.length(); i += 1) {
+	    received = (received << 8) | (body.get(i) & 0xff);
+	}
+
+	return received == calculate(body.array(), body.offset(), covered);
+
+    } // verify ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The largest number of check bytes any detector may use. */
+    public static final int MAX_LENGTH = 4;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class ErrorDetector
+// =============================================================================
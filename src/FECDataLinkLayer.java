@@ -0,0 +1,347 @@
+// =============================================================================
+// IMPORTS
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A data link layer that corrects errors in place with forward error
+ * correction, so that a flipped bit costs no acknowledgment round trip or
+ * resend.  Each frame is a fixed-size block holding the data's length, the
+ * data padded to <code>MAX_FRAME_SIZE</code>, and the error detector's check,
+ * all encoded by an error corrector.  The check catches blocks that the
+ * corrector could not repair, or repaired wrongly; those are dropped.
+ *
+ * Frames carry no start or stop tags: a flipped bit in a tag would lose a
+ * frame that could otherwise have been corrected.  Since the medium flips bits
+ * but never loses them, the receiver stays aligned with the sender's blocks by
+ * counting bytes.
+ *
+ * The corrector is <code>Hamming</code> (by default) or
+ * <code>ReedSolomon</code>, as set by the <code>errorCorrector</code> system
+ * property or by <code>setErrorCorrector()</code>.
+ *
+ * @file   FECDataLinkLayer.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class FECDataLinkLayer extends DataLinkLayer implements FrameCodec {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Default constructor.  Make sure a block can hold a frame.
+     *
+     * @throws RuntimeException if the frame size does not fit the one-byte
+     *                          length, or makes a block too long for the
+     *                          error corrector.
+     */
+    public FECDataLinkLayer () {
+
+	if (MAX_FRAME_SIZE > 0xff) {
+	    throw new RuntimeException("Frame size of " + MAX_FRAME_SIZE +
+				       " bytes is too large for FEC blocks");
+	}
+	errorCorrector.encodedLength(blockLength());
+
+    } // FECDataLinkLayer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Replace the code with which frames are corrected.  Both ends of a link
+     * must use the same kind.  Should be called before the event loop is
+     * started.
+     *
+     * @param errorCorrector The corrector to use.
+     */
+    public void setErrorCorrector (ErrorCorrector errorCorrector) {
+
+	this.errorCorrector = errorCorrector;
+
+    } // setErrorCorrector ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of frames in which errors were corrected.
+     */
+    public long getFramesCorrected () {
+
+	return framesCorrected;
+
+    } // getFramesCorrected ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of frames dropped because they could not be
+     *         corrected.
+     */
+    public long getFramesDropped () {
+
+	return framesDropped;
+
+    } // getFramesDropped ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Embed a raw sequence of bytes into a framed sequence.
+     *
+     * @param  data The raw sequence of bytes to be framed.
+     * @return A complete frame.
+     */
+    protected Queue<Byte> createFrame (Queue<Byte> data) {
+
+	return encodeFrame(data);
+
+    } // createFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Embed a raw sequence of bytes into an encoded block.
+     *
+     * @param src The raw data to be framed.
+     * @param dst The buffer into which to write the frame.
+     */
+    public void encode (ByteBuffer src, ByteBuffer dst) {
+
+	// Fill the block: the length, the padded data, and the check.
+	block.clear();
+	block.put((byte)src.remaining());
+	block.put(src);
+	while (block.position() < 1 + MAX_FRAME_SIZE) {
+	    block.put((byte)0);
+	}
+	errorDetector.append(block);
+
+	// Encode it.
+	errorCorrector.encode(block.array(), 0, block.position(), dst);
+
+    } // encode ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  dataLength The number of raw data bytes to be framed.
+     * @return the size of every encoded block, whatever the amount of data.
+     */
+    public int maxEncodedLength (int dataLength) {
+
+	return errorCorrector.encodedLength(blockLength());
+
+    } // maxEncodedLength ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Determine whether the received, buffered data constitutes a complete
+     * frame.  If so, then remove the framing metadata and return the original
+     * data.
+     *
+     * @return If the buffer contains a complete frame, the extracted, original
+     * data; <code>null</code> otherwise.
+     */
+    protected Queue<Byte> processFrame () {
+
+	FrameView frame = decodeFrame();
+	return (frame == null) ? null : frame.toQueue();
+
+    } // processFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * If a whole block has been received, consume it, correct what errors can
+     * be corrected, and verify its check.
+     *
+     * @param  in The received bytes, starting at the oldest.
+     * @return If the input contains a complete block that is, or could be
+     *         made, intact, the original data; <code>null</code> otherwise.
+     */
+    public FrameView decode (ByteBuffer in) {
+
+	int blockLength = blockLength();
+	if (in.remaining() < errorCorrector.encodedLength(blockLength)) {
+	    return null;
+	}
+
+	// Correct the block, then make sure that the correction worked.
+	int corrected = errorCorrector.decode(in, blockBytes, blockLength);
+	frame.set(blockBytes, 0, blockLength);
+	int length    = blockBytes[0] & 0xff;
+	if ((corrected < 0) ||
+	    !errorDetector.verify(frame) ||
+	    (length > MAX_FRAME_SIZE)) {
+
+	    if (debug) {
+		System.out.println("FECDataLinkLayer.decode():\tDropped frame");
+	    }
+	    framesDropped += 1;
+	    metrics.countChecksumFailure();
+	    return null;
+
+	}
+	if (corrected > 0) {
+	    framesCorrected += 1;
+	}
+
+	return frame.set(blockBytes, 1, length);
+
+    } // decode ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * After sending a frame, do any bookkeeping.  There is none, since frames
+     * are never resent.
+     *
+     * @param frame The framed data that was transmitted.
+     */
+    protected void finishFrameSend (Queue<Byte> frame) {}
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * After sending a frame, do any bookkeeping.  There is none, since frames
+     * are never resent.
+     *
+     * @param frame The encoded frame that was transmitted.
+     */
+    public void finishFrameSend (ByteBuffer frame) {}
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * After receiving a frame, do any bookkeeping (e.g., deliver the frame to
+     * the client, if appropriate) and responding (e.g., send an
+     * acknowledgment).
+     *
+     * @param frame The frame of bytes received.
+     */
+    protected void finishFrameReceive (Queue<Byte> frame) {
+
+	finishFrameReceive(FrameView.copyOf(frame));
+
+    } // finishFrameReceive ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Deliver the data to the client.
+     *
+     * @param frame The data extracted from the frame.
+     */
+    public void finishFrameReceive (FrameView frame) {
+
+	deliver(frame.array(), frame.offset(), frame.length());
+
+    } // finishFrameReceive ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Nothing to do; no response is ever awaited.
+     */
+    protected void checkTimeout () {}
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of bytes in a block before it is encoded.
+     */
+    private int blockLength () {
+
+	return 1 + MAX_FRAME_SIZE + errorDetector.length();
+
+    } // blockLength ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The code with which frames are corrected. */
+    private ErrorCorrector   errorCorrector =
+	ErrorCorrector.create(DEFAULT_ERROR_CORRECTOR);
+
+    /** Scratch space for the next block to be encoded. */
+    private final ByteBuffer block      =
+	ByteBuffer.allocate(1 + MAX_FRAME_SIZE + ErrorDetector.MAX_LENGTH);
+
+    /** Scratch space for the last block decoded. */
+    private final byte[]     blockBytes =
+	new byte[1 + MAX_FRAME_SIZE + ErrorDetector.MAX_LENGTH];
+
+    /** The view handed out for each decoded frame. */
+    private final FrameView  frame      = new FrameView();
+
+    /** The number of frames in which errors were corrected. */
+    private volatile long    framesCorrected;
+
+    /** The number of frames dropped because they could not be corrected. */
+    private volatile long    framesDropped;
+
+    /**
+     * The error corrector used by new layers: <code>ReedSolomon</code> or (by
+     * default) <code>Hamming</code>, as set by the <code>errorCorrector</code>
+     * system property.
+     */
+    public static final String DEFAULT_ERROR_CORRECTOR =
+	System.getProperty("errorCorrector", "Hamming");
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class FECDataLinkLayer
+// =============================================================================
@@ -0,0 +1,101 @@
+// =============================================================================
+// IMPORTS
+
+import java.nio.ByteBuffer;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A frame codec built on byte buffers rather than queues of boxed bytes.  A
+ * data link layer that implements this interface has its event loop drive
+ * these methods instead of <code>createFrame()</code>,
+ * <code>processFrame()</code>, <code>finishFrameSend()</code>, and
+ * <code>finishFrameReceive()</code>, so that framing a large transfer need not
+ * allocate per byte.
+ *
+ * @file   FrameCodec.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public interface FrameCodec {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Embed the remaining bytes of the source into a single frame, written to
+     * the destination.  The source is fully consumed.
+     *
+     * @param src The raw data to be framed, at most
+     *            <code>DataLinkLayer.MAX_FRAME_SIZE</code> bytes.
+     * @param dst The buffer into which to write the frame; it has room for at
+     *            least <code>maxEncodedLength(src.remaining())</code> bytes.
+     */
+    public void encode (ByteBuffer src, ByteBuffer dst);
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Try to extract one frame from received bytes.  The input's position is
+     * advanced past every byte the codec is finished with: bytes discarded as
+     * damaged or as preceding a frame, and the bytes of any frame extracted.
+     * Bytes that may yet be part of an incomplete frame are either left
+     * unconsumed, or consumed and held by the codec until the rest arrive.
+     *
+     * @param  in The received bytes, starting at the oldest.
+     * @return the extracted, original data, valid until the next call to
+     *         <code>decode()</code>; <code>null</code> if no intact frame could
+     *         be extracted.
+     */
+    public FrameView decode (ByteBuffer in);
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  dataLength The number of raw data bytes to be framed.
+     * @return the largest number of bytes that <code>encode()</code> may write
+     *         when framing that much data.
+     */
+    public int maxEncodedLength (int dataLength);
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * After sending a frame, do any bookkeeping (e.g., buffer the frame in case
+     * a resend is required).
+     *
+     * @param frame The encoded frame that was transmitted, between its
+     *              position and limit.  Valid only for the duration of the
+     *              call.
+     */
+    public void finishFrameSend (ByteBuffer frame);
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * After receiving a frame, do any bookkeeping (e.g., deliver the frame to
+     * the client, if appropriate) and responding (e.g., send an
+     * acknowledgment).
+     *
+     * @param frame The data extracted from the frame.  Valid only for the
+     *              duration of the call.
+     */
+    public void finishFrameReceive (FrameView frame);
+    // =========================================================================
+
+
+
+// =============================================================================
+} // interface FrameCodec
+// =============================================================================
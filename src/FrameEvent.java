@@ -0,0 +1,262 @@
+// =============================================================================
+// IMPORTS
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A Java Flight Recorder event in the life of a frame, so that a recording
+ * can line up stalls on a link with garbage collection and thread scheduling.
+ * Each kind of event is a nested subclass, and carries a sequence number, a
+ * size, and a latency, whose meanings each kind documents.  Sequence numbers
+ * count events of a kind per layer, except where noted.
+ *
+ * Code on the path of every frame goes through the shared instance of each
+ * kind (e.g., <code>FrameEvent.Created.KIND</code>), which is never itself
+ * recorded: it only tells whether its kind is, and if so, records a new event.
+ * (Each kind holds its own, since creating them while this class is being
+ * initialized would race with the recorder's instrumentation of them.)
+ * When nothing is recording, each helper is a single check, with no clock read
+ * and no allocation.  Loading the kinds, however, starts up the recorder's
+ * machinery, which takes the better part of a second; so
+ * <code>initialize()</code> loads them all up front, rather than on the path
+ * of the first frame.  For example, to record a run:
+ *
+ * <pre>
+ *   java -XX:StartFlightRecording=filename=link.jfr GoodputBenchmark LowNoise 100000 PAR
+ *   jfr print --categories "Flow Control" link.jfr
+ * </pre>
+ *
+ * @file   FrameEvent.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+@Category("Flow Control")
+public abstract class FrameEvent extends Event {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Load every kind of event, and with them the recorder's machinery, so
+     * that the first frame of each kind does not pay for it.
+     */
+    public static void initialize () {
+
+	Created.KIND.isEnabled();
+	Transmitted.KIND.isEnabled();
+	Received.KIND.isEnabled();
+	ChecksumFailure.KIND.isEnabled();
+	AckReceived.KIND.isEnabled();
+	TimeoutFired.KIND.isEnabled();
+	Delivered.KIND.isEnabled();
+
+    } // initialize ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the current <code>System.nanoTime()</code> if this event is
+     *         being recorded, from which to measure its latency; 0 otherwise.
+     */
+    public long started () {
+
+	return isEnabled() ? System.nanoTime() : 0;
+
+    } // started ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Record an event of this kind, if it is being recorded.
+     *
+     * @param sequence The sequence number.
+     * @param size     The size in bytes.
+     * @param latency  The latency in nanoseconds.
+     */
+    public void emit (long sequence, long size, long latency) {
+
+	if (isEnabled()) {
+	    FrameEvent event = create();
+	    event.sequence = sequence;
+	    event.size     = size;
+	    event.latency  = latency;
+	    event.commit();
+	}
+
+    } // emit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Record an event of this kind, if it is being recorded, with the time
+     * since a start as its latency.
+     *
+     * @param sequence The sequence number.
+     * @param size     The size in bytes.
+     * @param start    The <code>System.nanoTime()</code> value from which the
+     *                 latency is measured.
+     */
+    public void emitSince (long sequence, long size, long start) {
+
+	if (isEnabled()) {
+	    emit(sequence, size, System.nanoTime() - start);
+	}
+
+    } // emitSince ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PROTECTED METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return a new event of this kind, to be recorded.
+     */
+    abstract protected FrameEvent create ();
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // LOCAL CLASSES
+
+    /**
+     * Data taken from the send buffer was framed.  The size is that of the
+     * data; the latency, the time taken to frame it.
+     */
+    @Name("flowcontrol.FrameCreated")
+    @Label("Frame Created")
+    public static final class Created extends FrameEvent {
+	public static final Created KIND = new Created();
+	protected FrameEvent create () { return new Created(); }
+    }
+
+    /**
+     * A frame, new or resent, was handed to the physical layer.  The size is
+     * that of the whole frame; the latency, the time taken to send its bits.
+     */
+    @Name("flowcontrol.FrameTransmitted")
+    @Label("Frame Transmitted")
+    public static final class Transmitted extends FrameEvent {
+	public static final Transmitted KIND = new Transmitted();
+	protected FrameEvent create () { return new Transmitted(); }
+    }
+
+    /**
+     * An intact frame was extracted from received bytes.  The size is that of
+     * its body; the latency, the time taken by the decoding call that
+     * completed it.
+     */
+    @Name("flowcontrol.FrameReceived")
+    @Label("Frame Received")
+    public static final class Received extends FrameEvent {
+	public static final Received KIND = new Received();
+	protected FrameEvent create () { return new Received(); }
+    }
+
+    /**
+     * A received frame failed its check.  The sequence number is that of the
+     * last intact frame received before it; the size, that of its body; the
+     * latency, the time taken by the decoding call that completed it.
+     */
+    @Name("flowcontrol.ChecksumFailure")
+    @Label("Checksum Failure")
+    public static final class ChecksumFailure extends FrameEvent {
+	public static final ChecksumFailure KIND = new ChecksumFailure();
+	protected FrameEvent create () { return new ChecksumFailure(); }
+    }
+
+    /**
+     * The frame awaiting acknowledgment was acknowledged.  The sequence
+     * number is that of its creation; the size, that of the acknowledging
+     * frame; the latency, the time since the frame was first sent.
+     */
+    @Name("flowcontrol.AckReceived")
+    @Label("Acknowledgment Received")
+    public static final class AckReceived extends FrameEvent {
+	public static final AckReceived KIND = new AckReceived();
+	protected FrameEvent create () { return new AckReceived(); }
+    }
+
+    /**
+     * The retransmission timer expired.  The sequence number is that of the
+     * creation of the frame to be resent; the size, that of its data; the
+     * latency, the time waited.
+     */
+    @Name("flowcontrol.TimeoutFired")
+    @Label("Timeout Fired")
+    public static final class TimeoutFired extends FrameEvent {
+	public static final TimeoutFired KIND = new TimeoutFired();
+	protected FrameEvent create () { return new TimeoutFired(); }
+    }
+
+    /**
+     * Data was delivered to the host.  The size is that of the data; the
+     * latency, the time taken by the host to accept it.
+     */
+    @Name("flowcontrol.FrameDelivered")
+    @Label("Frame Delivered")
+    public static final class Delivered extends FrameEvent {
+	public static final Delivered KIND = new Delivered();
+	protected FrameEvent create () { return new Delivered(); }
+    }
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+
+    // Recordings leave out the private fields of a superclass, so these are
+    // protected.
+
+    /** The event's sequence number. */
+    @Label("Sequence")
+    @Description("The position of the frame among those of its kind")
+    protected long sequence;
+
+    /** The event's size in bytes. */
+    @Label("Size")
+    @DataAmount
+    protected long size;
+
+    /** The event's latency in nanoseconds. */
+    @Label("Latency")
+    @Timespan
+    protected long latency;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class FrameEvent
+// =============================================================================
@@ -0,0 +1,187 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.LinkedList;
+import java.util.Queue;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A window onto a slice of a byte array holding the contents of a decoded
+ * frame.  A codec typically owns a single view and repoints it at its scratch
+ * space for every frame, so that extracting a frame allocates nothing.
+ *
+ * @file   FrameView.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class FrameView {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create a view of an empty slice.
+     */
+    public FrameView () {
+
+	set(new byte[0], 0, 0);
+
+    } // FrameView ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create a view holding a copy of the bytes of a queue.  Meant for
+     * adapting the queue-based frame methods to a codec.
+     *
+     * @param  frame The bytes to copy.
+     * @return the new view.
+     */
+    public static FrameView copyOf (Queue<Byte> frame) {
+
+	byte[] array = new byte[frame.size()];
+	int    index = 0;
+	for (byte b : frame) {
+	    array[index] = b;
+	    index += 1;
+	}
+
+	return new FrameView().set(array, 0, array.length);
+
+    } // copyOf ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Point this view at a slice of an array.
+     *
+     * @param  array  The array holding the frame's bytes.
+     * @param  offset The index of the first byte of the frame.
+     * @param  length The number of bytes in the frame.
+     * @return this view.
+     */
+    public FrameView set (byte[] array, int offset, int length) {
+
+	this.array  = array;
+	this.offset = offset;
+	this.length = length;
+
+	return this;
+
+    } // set ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  index The position within the frame of the byte to examine.
+     * @return the byte at that position.
+     * @throws IndexOutOfBoundsException if the position is outside the frame.
+     */
+    public byte get (int index) {
+
+	if (index < 0 || index >= length) {
+	    throw new IndexOutOfBoundsException("Index " + index +
+						" with length " + length);
+	}
+	return array[offset + index];
+
+    } // get ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of bytes in the frame.
+     */
+    public int length () {
+
+	return length;
+
+    } // length ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the array that holds the frame's bytes.
+     */
+    public byte[] array () {
+
+	return array;
+
+    } // array ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the index within <code>array()</code> of the first byte of the
+     *         frame.
+     */
+    public int offset () {
+
+	return offset;
+
+    } // offset ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Copy the frame's bytes into a newly created queue.  Meant for adapting a
+     * codec to the queue-based frame methods.
+     *
+     * @return the queue of bytes.
+     */
+    public Queue<Byte> toQueue () {
+
+	Queue<Byte> frame = new LinkedList<Byte>();
+	for (int i = 0; i < length; i += 1) {
+	    frame.add(array[offset + i]);
+	}
+
+	return frame;
+
+    } // toQueue ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The array that holds the frame's bytes. */
+    private byte[] array;
+
+    /** The index of the first byte of the frame. */
+    private int    offset;
+
+    /** The number of bytes in the frame. */
+    private int    length;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class FrameView
+// =============================================================================
@@ -0,0 +1,115 @@
+// =============================================================================
+// IMPORTS
+
+import java.nio.ByteBuffer;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * Marks where each frame begins and ends on the wire.  A data link layer
+ * decides what goes into the body of a frame (headers, data, checks) and what
+ * to make of it once extracted; the framer only delimits bodies.  Both ends of
+ * a link must use the same kind.
+ *
+ * @file   Framer.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public abstract class Framer {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create the requested framer type and return it.
+     *
+     * @param  type The name of the framer, without the <code>Framer</code>
+     *              suffix (e.g., <code>"COBS"</code>).
+     * @return The newly created framer.
+     * @throws RuntimeException if the given type is not a valid subclass.
+     */
+    public static Framer create (String type) {
+
+	// Look up the class by name.
+	String className     = type + "Framer";
+	Class<?> framerClass = null;
+	try {
+	    framerClass = Class.forName(className);
+	} catch (ClassNotFoundException e) {
+	    throw new RuntimeException("Unknown framer subclass " + className);
+	}
+
+	// Make one of these objects, and then see if it really is a Framer
+	// subclass.
+	Object o = null;
+	try {
+	    o = framerClass.getDeclaredConstructor().newInstance();
+	} catch (ReflectiveOperationException e) {
+	    throw new RuntimeException("Could not instantiate " + className);
+	}
+	if (!(o instanceof Framer)) {
+	    throw new RuntimeException(className +
+				       " is not a subclass of Framer");
+	}
+
+	return (Framer)o;
+
+    } // create ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Embed the remaining bytes of a body into a frame.
+     *
+     * @param body The bytes to be framed, which are consumed.
+     * @param dst  The buffer into which to write the frame.
+     */
+    abstract public void encode (ByteBuffer body, ByteBuffer dst);
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  bodyLength The number of body bytes to be framed.
+     * @return the largest number of bytes a frame of such a body may take.
+     */
+    abstract public int maxEncodedLength (int bodyLength);
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Consume received bytes until a complete frame has been, and return its
+     * body, with the framing removed.  A framer keeps whatever part of a frame
+     * it has consumed until the rest arrives, so each byte is examined only
+     * once, however many pieces a frame arrives in.  A frame whose framing is
+     * itself damaged may yield a body that is short or garbled; the layer's
+     * check is what rejects it.
+     *
+     * @param  in The received bytes, starting at the oldest.  Its position is
+     *            advanced past every byte examined, stopping just after a
+     *            frame's last byte.
+     * @return If the input completes a frame, its body, valid until the next
+     *         call; <code>null</code> otherwise.
+     */
+    abstract public FrameView decode (ByteBuffer in);
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class Framer
+// =============================================================================
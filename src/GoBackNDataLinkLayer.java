@@ -0,0 +1,585 @@
+// =============================================================================
+// IMPORTS
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A data link layer that frames data with the layer's framer, detects errors
+ * with its error detector's check, and performs flow control with a Go-Back-N
+ * sliding window.  Up to a window's worth of frames may be outstanding at
+ * once.  The receiver accepts frames only in order and
+ * acknowledges cumulatively with the sequence number it expects next.  A
+ * single timer covers the oldest unacknowledged frame; when it expires, every
+ * outstanding frame is resent.  The timer's interval adapts to the round trips
+ * measured from acknowledgments, as <code>RoundTripEstimator</code> sets it.
+ *
+ * The body of every frame begins with a header byte whose high bit tells an
+ * acknowledgment from data, and whose low bits hold the sequence number.  It
+ * ends with the check of everything before it.
+ *
+ * The number of sequence number bits is set by the <code>sequenceBits</code>
+ * system property (1 to 7, by default 3), and the window size by the
+ * <code>windowSize</code> system property (by default, and at most, one less
+ * than the number of sequence numbers).
+ *
+ * @file   GoBackNDataLinkLayer.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class GoBackNDataLinkLayer extends DataLinkLayer implements FrameCodec {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Default constructor.  Check the configured window against the sequence
+     * number space, and make room for the outstanding frames.
+     *
+     * @throws RuntimeException if the sequence number bits or the window size
+     *                          are out of range.
+     */
+    public GoBackNDataLinkLayer () {
+
+	if (SEQUENCE_BITS < 1 || SEQUENCE_BITS > 7) {
+	    throw new RuntimeException("Sequence bits must be 1 to 7, not " +
+				       SEQUENCE_BITS);
+	}
+	sequenceMask = (1 << SEQUENCE_BITS) - 1;
+	if (WINDOW_SIZE < 1 || WINDOW_SIZE > sequenceMask) {
+	    throw new RuntimeException("Window size must be 1 to " +
+				       sequenceMask + ", not " + WINDOW_SIZE);
+	}
+
+	// Keep a copy of each outstanding frame, when it was first sent, and
+	// whether it was resent, by sequence number.
+	sentAt      = new long[sequenceMask + 1];
+	resent      = new boolean[sequenceMask + 1];
+	outstanding = new ByteBuffer[sequenceMask + 1];
+	for (int i = 0; i < outstanding.length; i += 1) {
+	    outstanding[i] =
+		ByteBuffer.allocate(maxEncodedLength(MAX_FRAME_SIZE));
+	}
+
+    } // GoBackNDataLinkLayer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the maximum number of frames that may await acknowledgment.
+     */
+    public int getWindowSize () {
+
+	return WINDOW_SIZE;
+
+    } // getWindowSize ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the current retransmission timeout in nanoseconds.
+     */
+    public long getTimeout () {
+
+	return roundTrip.getTimeout();
+
+    } // getTimeout ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of frames resent after the timer expired.
+     */
+    public long getFramesResent () {
+
+	return framesResent;
+
+    } // getFramesResent ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of data frames delivered to the host.
+     */
+    public long getFramesDelivered () {
+
+	return framesDelivered;
+
+    } // getFramesDelivered ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Embed a raw sequence of bytes into a framed sequence.
+     *
+     * @param  data The raw sequence of bytes to be framed.
+     * @return A complete frame.
+     */
+    protected Queue<Byte> createFrame (Queue<Byte> data) {
+
+	return encodeFrame(data);
+
+    } // createFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Embed a raw sequence of bytes into a data frame carrying the next
+     * sequence number.
+     *
+     * @param src The raw data to be framed.
+     * @param dst The buffer into which to write the frame.
+     */
+    public void encode (ByteBuffer src, ByteBuffer dst) {
+
+	body.clear();
+	body.put((byte)(DATA_KIND | nextSequence));
+	body.put(src);
+	encodeBody(dst);
+
+    } // encode ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  dataLength The number of raw data bytes to be framed.
+     * @return the largest number of bytes a frame of that much data, plus its
+     *         header and check, may take.
+     */
+    public int maxEncodedLength (int dataLength) {
+
+	return framer.maxEncodedLength(dataLength + 1 + errorDetector.length());
+
+    } // maxEncodedLength ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Determine whether the received, buffered data constitutes a complete
+     * frame.  If so, then remove the framing metadata and return the original
+     * data.
+     *
+     * @return If the buffer contains a complete frame, the extracted, original
+     * data; <code>null</code> otherwise.
+     */
+    protected Queue<Byte> processFrame () {
+
+	FrameView frame = decodeFrame();
+	return (frame == null) ? null : frame.toQueue();
+
+    } // processFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Determine whether the received data constitutes a complete frame.  If
+     * so, then consume it, remove the framing metadata, and verify its check.
+     *
+     * @param  in The received bytes, starting at the oldest.
+     * @return If the input contains a complete, intact frame, its header byte
+     *         followed by any data; <code>null</code> otherwise.
+     */
+    public FrameView decode (ByteBuffer in) {
+
+	// Extract the body of the next complete frame, if any.
+	FrameView frame = framer.decode(in);
+	if (frame == null) {
+	    return null;
+	}
+
+	// Every frame holds at least a header and a check, the last of which
+	// must match a recalculation.
+	int covered = frame.length() - errorDetector.length();
+	if (covered < 1 || !errorDetector.verify(frame)) {
+	    LOGGER.warning(() -> "RECEIVER: Damaged frame");
+	    metrics.countChecksumFailure();
+	    return null;
+	}
+
+	return frame.set(frame.array(), frame.offset(), covered);
+
+    } // decode ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Only send a new frame while the window has room for it.
+     *
+     * @return the encoded frame transmitted; <code>null</code> if nothing was
+     *         sent.
+     */
+    @Override
+    protected ByteBuffer sendNextEncodedFrame () {
+
+	if (inFlight == WINDOW_SIZE) {
+	    return null;
+	}
+
+	return super.sendNextEncodedFrame();
+
+    } // sendNextEncodedFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Only send a new frame while the window has room for it.
+     *
+     * @return the frame of bytes transmitted.
+     */
+    @Override
+    protected Queue<Byte> sendNextFrame () {
+
+	if (inFlight == WINDOW_SIZE) {
+	    return null;
+	}
+
+	return super.sendNextFrame();
+
+    } // sendNextFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * After sending a frame, do any bookkeeping (e.g., buffer the frame in case
+     * a resend is required).
+     *
+     * @param frame The framed data that was transmitted.
+     */
+    protected void finishFrameSend (Queue<Byte> frame) {
+
+	FrameView encoded = FrameView.copyOf(frame);
+	finishFrameSend(ByteBuffer.wrap(encoded.array(),
+					encoded.offset(),
+					encoded.length()));
+
+    } // finishFrameSend ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * After sending a new frame, keep a copy of it in case it must be resent,
+     * note when it was sent, advance the sequence number, and start the timer
+     * if this is the only frame outstanding.
+     *
+     * @param frame The encoded frame that was transmitted.
+     */
+    public void finishFrameSend (ByteBuffer frame) {
+
+	ByteBuffer copy = outstanding[nextSequence];
+	if (copy.capacity() < frame.remaining()) {
+	    copy = ByteBuffer.allocate(frame.remaining());
+	    outstanding[nextSequence] = copy;
+	}
+	copy.clear();
+	copy.put(frame.array(),
+		 frame.arrayOffset() + frame.position(),
+		 frame.remaining());
+	copy.flip();
+	sentAt[nextSequence] = clock.nanoTime();
+	resent[nextSequence] = false;
+
+	nextSequence = (nextSequence + 1) & sequenceMask;
+	inFlight += 1;
+	if (inFlight == 1) {
+	    startTimer();
+	}
+
+    } // finishFrameSend ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * After receiving a frame, do any bookkeeping (e.g., deliver the frame to
+     * the client, if appropriate) and responding (e.g., send an
+     * acknowledgment).
+     *
+     * @param frame The frame of bytes received.
+     */
+    protected void finishFrameReceive (Queue<Byte> frame) {
+
+	finishFrameReceive(FrameView.copyOf(frame));
+
+    } // finishFrameReceive ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * After receiving an acknowledgment, slide the window past every frame it
+     * covers.  After receiving data, deliver it if it is the next frame
+     * expected, and acknowledge everything received in order so far.
+     *
+     * @param frame The header byte followed by any data extracted from the
+     *              frame.
+     */
+    public void finishFrameReceive (FrameView frame) {
+
+	int header   = frame.get(0) & 0xff;
+	int sequence = header & sequenceMask;
+
+	if ((header & KIND_MASK) == ACK_KIND) {
+
+	    // The acknowledgment names the next frame the receiver expects,
+	    // covering every frame before it.  Ignore duplicates, and any
+	    // acknowledgment of frames not outstanding.
+	    int acknowledged = (sequence - base) & sequenceMask;
+	    if (acknowledged == 0 || acknowledged > inFlight) {
+		return;
+	    }
+
+	    // Time the round trip of the newest frame covered, unless it was
+	    // resent, in which case the acknowledgment may answer either copy.
+	    int newest = (sequence - 1) & sequenceMask;
+	    if (resent[newest]) {
+		roundTrip.reset();
+	    } else {
+		roundTrip.measure(clock.nanoTime() - sentAt[newest]);
+	    }
+	    base      = sequence;
+	    inFlight -= acknowledged;
+
+	    // Time whatever is now the oldest outstanding frame.
+	    if (inFlight > 0) {
+		startTimer();
+	    }
+
+	} else {
+
+	    // Deliver only the frame expected next; anything else is a
+	    // duplicate or follows a lost frame.
+	    if (sequence == expectedSequence) {
+		deliver(frame.array(), frame.offset() + 1, frame.length() - 1);
+		framesDelivered += 1;
+		expectedSequence = (expectedSequence + 1) & sequenceMask;
+	    } else if (((expectedSequence - 1 - sequence) & sequenceMask) <
+		       WINDOW_SIZE) {
+		// A frame from just behind the expected one was resent.
+		metrics.countDuplicateDiscarded();
+	    }
+
+	    // Either way, report what has been received in order so far.
+	    sendAcknowledgment();
+
+	}
+
+    } // finishFrameReceive ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * If the oldest outstanding frame has gone unacknowledged for too long,
+     * resend it and every frame sent after it, and back the timer off.
+     */
+    protected void checkTimeout () {
+
+	if (inFlight == 0 || clock.nanoTime() - timerDeadline < 0) {
+	    return;
+	}
+
+	metrics.countTimeout();
+	for (int i = 0; i < inFlight; i += 1) {
+	    int sequence = (base + i) & sequenceMask;
+	    transmit(outstanding[sequence]);
+	    resent[sequence] = true;
+	    metrics.countRetransmission();
+	    framesResent += 1;
+	}
+	roundTrip.backOff();
+	startTimer();
+
+    } // checkTimeout ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Report when the retransmission timer expires, so that an idle event loop
+     * wakes up in time to resend.
+     *
+     * @return the <code>clock.nanoTime()</code> value at which the timeout is
+     *         due, or <code>WaitStrategy.NO_DEADLINE</code> if no frame awaits
+     *         acknowledgment.
+     */
+    @Override
+    protected long nextDeadline () {
+
+	return (inFlight == 0) ? WaitStrategy.NO_DEADLINE : timerDeadline;
+
+    } // nextDeadline ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Acknowledge, cumulatively, every frame received in order so far by
+     * naming the sequence number expected next.
+     */
+    private void sendAcknowledgment () {
+
+	body.clear();
+	body.put((byte)(ACK_KIND | expectedSequence));
+	acknowledgmentFrame.clear();
+	encodeBody(acknowledgmentFrame);
+	acknowledgmentFrame.flip();
+	transmit(acknowledgmentFrame);
+
+    } // sendAcknowledgment ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Append the check to the body under construction, and frame the whole.
+     *
+     * @param dst The buffer into which to write the frame.
+     */
+    private void encodeBody (ByteBuffer dst) {
+
+	errorDetector.append(body);
+	body.flip();
+	framer.encode(body, dst);
+
+    } // encodeBody ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * (Re)start the retransmission timer.
+     */
+    private void startTimer () {
+
+	timerDeadline = clock.nanoTime() + roundTrip.getTimeout();
+
+    } // startTimer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** Scratch space for the body of the next frame to be encoded. */
+    private final ByteBuffer body = ByteBuffer.allocate(MAX_FRAME_SIZE + 1 +
+							 ErrorDetector.MAX_LENGTH);
+
+    /** Scratch space for each acknowledgment frame. */
+    private final ByteBuffer acknowledgmentFrame =
+	ByteBuffer.allocate(framer.maxEncodedLength(1 +
+						    ErrorDetector.MAX_LENGTH));
+
+    /** The mask that reduces a number to a sequence number. */
+    private final int sequenceMask;
+
+    /** A copy of each outstanding frame, indexed by its sequence number. */
+    private final ByteBuffer[] outstanding;
+
+    /** When each outstanding frame was first sent, in nanoseconds. */
+    private final long[] sentAt;
+
+    /** Whether each outstanding frame has been resent. */
+    private final boolean[] resent;
+
+    /** The estimate of the round trip, and the timeout set from it. */
+    private final RoundTripEstimator roundTrip = new RoundTripEstimator();
+
+    /** The sequence number of the oldest unacknowledged frame. */
+    private int base;
+
+    /** The sequence number of the next new frame to send. */
+    private int nextSequence;
+
+    /** The number of frames sent but not yet acknowledged. */
+    private int inFlight;
+
+    /** When the oldest outstanding frame should be resent, in nanoseconds. */
+    private long timerDeadline;
+
+    /** The sequence number of the next frame to deliver. */
+    private int expectedSequence;
+
+    /** The number of frames resent after the timer expired. */
+    private volatile long framesResent;
+
+    /** The number of data frames delivered to the host. */
+    private volatile long framesDelivered;
+
+    /** Where to report damaged frames. */
+    private static final LinkLogger LOGGER =
+	LinkLogger.getLogger(GoBackNDataLinkLayer.class);
+
+    /** The header bit that tells an acknowledgment from data. */
+    private static final int KIND_MASK = 0x80;
+
+    /** The header kind of a data frame. */
+    private static final int DATA_KIND = 0x00;
+
+    /** The header kind of an acknowledgment frame. */
+    private static final int ACK_KIND  = 0x80;
+
+    /** The number of bits in a sequence number. */
+    public static final int SEQUENCE_BITS =
+	Integer.getInteger("sequenceBits", 3);
+
+    /** The maximum number of frames that may await acknowledgment. */
+    public static final int WINDOW_SIZE =
+	Integer.getInteger("windowSize", (1 << SEQUENCE_BITS) - 1);
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class GoBackNDataLinkLayer
+// =============================================================================
@@ -0,0 +1,162 @@
+// =============================================================================
+// IMPORTS
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Random;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * Measures goodput, the rate at which data reaches the receiving host intact,
+ * for each of several data link layer types over the same medium.  For each
+ * type, one host sends a block of random data to another, and the run ends
+ * once all of it has arrived or nothing more has arrived for a while.  The
+ * medium's metrics then show how much of its traffic was useful.
+ *
+ * For example, to compare PAR against both forward error correction modes:
+ *
+ * <pre>
+ *   java GoodputBenchmark LowNoise 100000 PAR FEC
+ *   java -DerrorCorrector=ReedSolomon GoodputBenchmark LowNoise 100000 FEC
+ * </pre>
+ *
+ * @file   GoodputBenchmark.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class GoodputBenchmark {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * The entry point.  Interpret the command-line arguments, aborting if they
+     * are invalid, and then run the benchmark for each data link layer type.
+     *
+     * @param args The command-line arguments.
+     */
+    public static void main (String[] args) throws InterruptedException {
+
+	// Check the number of arguments passed.
+	if (args.length < 3) {
+
+	    System.err.println("Usage: java GoodputBenchmark " +
+			       "<medium type> "                +
+			       "<number of bytes> "            +
+			       "<data link layer type>...");
+	    System.exit(1);
+
+	}
+
+	// Assign names to the arguments.
+	String mediumType = args[0];
+	int    byteCount  = Integer.parseInt(args[1]);
+
+	// The same data for every run.
+	byte[] data = new byte[byteCount];
+	new Random(SEED).nextBytes(data);
+
+	for (int i = 2; i < args.length; i += 1) {
+	    measure(mediumType, args[i], data);
+	}
+
+    } // main ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send the data from one host to another, and report the goodput.
+     *
+     * @param mediumType        The medium connecting the hosts.
+     * @param dataLinkLayerType The data link layer used by both hosts.
+     * @param data              The data to send.
+     */
+    private static void measure (String mediumType,
+				 String dataLinkLayerType,
+				 byte[] data) throws InterruptedException {
+
+	// Create the medium, then the sender and receiver.
+	Medium medium   = Medium.create(mediumType);
+	Host   sender   = new Host(medium, dataLinkLayerType);
+	Host   receiver = new Host(medium, dataLinkLayerType);
+	Thread receiverThread = receiver.start();
+	Thread senderThread   = sender.start();
+
+	// Send, and collect what arrives until all of it has, or until
+	// nothing has for a while.
+	ByteArrayOutputStream received = new ByteArrayOutputStream();
+	long start        = System.nanoTime();
+	long lastProgress = start;
+	long finish       = start;
+	sender.send(data);
+	while (received.size() < data.length &&
+	       System.nanoTime() - lastProgress < QUIET_NS) {
+
+	    Thread.sleep(POLL_MS);
+	    byte[] arrived = receiver.retrieve();
+	    if (arrived.length > 0) {
+		received.write(arrived, 0, arrived.length);
+		lastProgress = System.nanoTime();
+		finish       = lastProgress;
+	    }
+
+	}
+
+	sender.stop();
+	receiver.stop();
+	senderThread.join();
+	receiverThread.join();
+
+	// Only intact data counts.
+	byte[]  result  = received.toByteArray();
+	boolean intact  = Arrays.equals(data, result);
+	double  seconds = (finish - start) / 1e9;
+	System.out.printf("%-16s %-10s %9d of %9d bytes %-8s in %8.3f s: " +
+			  "%10.1f KB/s goodput\n",
+			  dataLinkLayerType,
+			  mediumType,
+			  result.length,
+			  data.length,
+			  intact ? "intact" : "damaged",
+			  seconds,
+			  intact ? data.length / seconds / 1024 : 0.0);
+
+	// How much of the traffic on the medium was useful.
+	LinkMetrics link = medium.getMetrics();
+	System.out.printf("%-16s efficiency %.3f, retransmission ratio %.3f, " +
+			  "frame error rate %.4f, bit error rate %.6f\n",
+			  "",
+			  link.getEfficiency(),
+			  link.getRetransmissionRatio(),
+			  link.getFrameErrorRate(),
+			  link.getBitErrorRate());
+
+    } // measure ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The seed from which the data to send is generated. */
+    private static final long SEED     = 2026;
+
+    /** How often to collect what the receiver has received. */
+    private static final long POLL_MS  = 1;
+
+    /** How long without progress before giving up on the rest of the data. */
+    private static final long QUIET_NS = 2000L * 1000000L;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class GoodputBenchmark
+// =============================================================================
@@ -0,0 +1,181 @@
+// =============================================================================
+// IMPORTS
+
+import java.nio.ByteBuffer;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * An extended Hamming(8,4) code: each half of a byte becomes a Hamming(7,4)
+ * codeword plus an overall parity bit, so every byte is sent as two.  Within
+ * each encoded byte, any single flipped bit is corrected (SEC) and any two are
+ * detected (DED).  Both directions are table lookups.
+ *
+ * @file   HammingErrorCorrector.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class HammingErrorCorrector extends ErrorCorrector {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  dataLength The number of bytes in a block.
+     * @return twice that number.
+     */
+    public int encodedLength (int dataLength) {
+
+	return 2 * dataLength;
+
+    } // encodedLength ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Encode each byte as two codewords, high half first.
+     *
+     * @param data   The array holding the block.
+     * @param offset The index of the first byte of the block.
+     * @param length The number of bytes in the block.
+     * @param dst    The buffer into which to write the encoded bytes.
+     */
+    public void encode (byte[] data, int offset, int length, ByteBuffer dst) {
+
+	for (int i = offset; i < offset + length; i += 1) {
+	    dst.put(ENCODE[(data[i] >>> 4) & 0x0f]);
+	    dst.put(ENCODE[data[i] & 0x0f]);
+	}
+
+    } // encode ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Decode each pair of codewords into a byte, correcting any single
+     * flipped bit in each.
+     *
+     * @param  in     The buffer holding the encoded block at its position.
+     * @param  data   The array into which to write the decoded block.
+     * @param  length The number of bytes in the decoded block.
+     * @return the number of bits corrected, or <code>-1</code> if any codeword
+     *         held two or more errors.
+     */
+    public int decode (ByteBuffer in, byte[] data, int length) {
+
+	int     corrected   = 0;
+	boolean correctable = true;
+	for (int i = 0; i < length; i += 1) {
+	    int high = DECODE[in.get() & 0xff];
+	    int low  = DECODE[in.get() & 0xff];
+	    if (high < 0 || low < 0) {
+		correctable = false;
+		continue;
+	    }
+	    corrected += (high >>> 4) + (low >>> 4);
+	    data[i] = (byte)(((high & 0x0f) << 4) | (low & 0x0f));
+	}
+
+	return correctable ? corrected : -1;
+
+    } // decode ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Build the codeword for each four-bit value.  The bits, from most to
+     * least significant, are p1 p2 d1 p3 d2 d3 d4 p0, where each pi makes the
+     * parity even over the positions it covers, and p0 over the whole.
+     *
+     * @return the table of codewords.
+     */
+    private static byte[] buildEncodeTable () {
+
+	byte[] table = new byte[16];
+	for (int value = 0; value < table.length; value += 1) {
+	    int d1 = (value >>> 3) & 1;
+	    int d2 = (value >>> 2) & 1;
+	    int d3 = (value >>> 1) & 1;
+	    int d4 = value & 1;
+	    int p1 = d1 ^ d2 ^ d4;
+	    int p2 = d1 ^ d3 ^ d4;
+	    int p3 = d2 ^ d3 ^ d4;
+	    int codeword = ((p1 << 7) | (p2 << 6) | (d1 << 5) | (p3 << 4) |
+			    (d2 << 3) | (d3 << 2) | (d4 << 1));
+	    codeword |= Integer.bitCount(codeword) & 1;
+	    table[value] = (byte)codeword;
+	}
+
+	return table;
+
+    } // buildEncodeTable ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Decode every possible received byte by finding the nearest codeword.
+     *
+     * @return the table of decodings: the value in the low four bits, plus
+     *         <code>0x10</code> if a bit was corrected; or <code>-1</code> if
+     *         the byte is two bits from a codeword.
+     */
+    private static int[] buildDecodeTable () {
+
+	int[] table = new int[256];
+	for (int received = 0; received < table.length; received += 1) {
+	    table[received] = -1;
+	    for (int value = 0; value < ENCODE.length; value += 1) {
+		int distance =
+		    Integer.bitCount(received ^ (ENCODE[value] & 0xff));
+		if (distance <= 1) {
+		    table[received] = value | (distance << 4);
+		    break;
+		}
+	    }
+	}
+
+	return table;
+
+    } // buildDecodeTable ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The codeword for each four-bit value. */
+    private static final byte[] ENCODE = buildEncodeTable();
+
+    /** The decoding of each possible received byte. */
+    private static final int[]  DECODE = buildDecodeTable();
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class HammingErrorCorrector
+// =============================================================================
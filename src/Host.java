@@ -1,8 +1,9 @@
 // =============================================================================
 // IMPORTS
 
-import java.util.Queue;
-import java.util.LinkedList;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
 // =============================================================================
 
 
@@ -35,7 +36,7 @@ public class Host implements Runnable {
 						  this.physicalLayer,
 						  this);
 
-	this.buffer = new LinkedList<Byte>();
+	this.buffer = new ByteRingBuffer();
 
     } // Host ()
     // =========================================================================
@@ -57,6 +58,64 @@ public class Host implements Runnable {
 
 
 
+    // =========================================================================
+    /**
+     * Begin this host on a thread of its own, made by <code>THREADS</code>:
+     * a virtual thread where the runtime has them, so that thousands of hosts
+     * can run at once.
+     *
+     * @return the thread, already started.
+     */
+    public Thread start () {
+
+	Thread thread = THREADS.newThread(this);
+	thread.start();
+
+	return thread;
+
+    } // start ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Determine whether a thread is virtual, which only runtimes that have
+     * virtual threads can say.
+     *
+     * @param  thread The thread.
+     * @return whether the thread is virtual.
+     */
+    public static boolean isVirtual (Thread thread) {
+
+	try {
+	    return (Boolean)Thread.class.getMethod("isVirtual").invoke(thread);
+	} catch (ReflectiveOperationException e) {
+	    return false;
+	}
+
+    } // isVirtual ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Run this host on a scheduler, in virtual time, instead of as a thread:
+     * its data link layer's event loop, and the transmissions of its medium.
+     *
+     * @param scheduler The scheduler on which to run.
+     */
+    public void start (Scheduler scheduler) {
+
+	medium.setScheduler(scheduler);
+	dataLinkLayer.start(scheduler);
+
+    } // start ()
+    // =========================================================================
+
+
+
     // =========================================================================
     /**
      * End the event loop in the data link layer, thus ending this hosts' thread.
@@ -72,57 +131,115 @@ public class Host implements Runnable {
 
     // =========================================================================
     /**
-     * Send a sequence of bytes.
+     * Send a sequence of bytes.  If the data link layer's send buffer is full,
+     * block, fail, or complete later, as configured by the
+     * <code>sendPolicy</code> system property.
      *
-     * @param data The sequence of bytes to send.
+     * @param  data The sequence of bytes to send.
+     * @return a future that completes once all of the data is buffered.
+     * @throws IllegalStateException if the policy is to fail and the data does
+     *                               not fit.
+     * @see    SendBuffer
      */
-    public void send (byte[] data) {
+    public CompletableFuture<Void> send (byte[] data) {
 
-	dataLinkLayer.send(data);
+	return dataLinkLayer.send(data);
 	
     } // send ()
     // =========================================================================
 
 
 
+    // =========================================================================
+    /**
+     * Send the bytes of a buffer without copying them.  The buffer is lent:
+     * its bytes must not be changed until the returned future completes.
+     *
+     * @param  data The buffer whose bytes, from its position to its limit, to
+     *              send.
+     * @return a future that completes once the buffer may be reused.
+     * @see    DataLinkLayer#send(ByteBuffer)
+     */
+    public CompletableFuture<Void> send (ByteBuffer data) {
+
+	return dataLinkLayer.send(data);
+
+    } // send ()
+    // =========================================================================
+
+
+
     // =========================================================================
     /**
      * Receive bytes from the lower layer.  Buffer those until they are
-     * retrieved.
+     * retrieved.  Synchronized with <code>retrieve()</code>, which is called
+     * from another thread.
      *
      * @param data The data received and to be buffered.
      */
     public void receive (byte[] data) {
 
-	// Add the bytes into the buffer.
-	for (int i = 0; i < data.length; i += 1) {
-	    buffer.add(data[i]);
-	}
+	receive(data, 0, data.length);
 	
     } // receive ()
     // =========================================================================
 
 
 
+    // =========================================================================
+    /**
+     * Receive bytes from the lower layer, copying them out of the caller's
+     * array, which the caller may then reuse.  Buffer those until they are
+     * retrieved.  Synchronized with <code>retrieve()</code>, which is called
+     * from another thread.
+     *
+     * @param data   The array holding the data received.
+     * @param offset The position in the array of the first byte.
+     * @param length The number of bytes received.
+     */
+    public synchronized void receive (byte[] data, int offset, int length) {
+
+	buffer.add(data, offset, length);
+
+    } // receive ()
+    // =========================================================================
+
+
+
     // =========================================================================
     /**
      * Retrieve and return any bytes that have been received and buffered.
      *
      * @return the buffered bytes.
      */
-    public byte[] retrieve () {
+    public synchronized byte[] retrieve () {
 
-	// Remove the bytes from the buffer, adding them to a newly formed array
-	// to be returned.
+	// Remove the bytes from the buffer into a newly formed array to be
+	// returned.
 	byte[] received = new byte[buffer.size()];
-	for (int i = 0; i < received.length; i += 1) {
-	    received[i] = buffer.remove();
-	}
+	buffer.remove(received, 0, received.length);
 
 	return received;
 	
     } // retrieve ()
     // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Retrieve as many of the bytes that have been received and buffered as
+     * fit in a given array, leaving the rest buffered.
+     *
+     * @param  destination The array into which to copy the bytes.
+     * @return the number of bytes retrieved.
+     */
+    public synchronized int retrieve (byte[] destination) {
+
+	return buffer.remove(destination, 0, destination.length);
+
+    } // retrieve ()
+    // =========================================================================
     
 
 
@@ -139,10 +256,49 @@ public class Host implements Runnable {
     private DataLinkLayer dataLinkLayer;
 
     /** The buffered bytes received via the network stack. */
-    private Queue<Byte>   buffer;
+    private ByteRingBuffer buffer;
 
     /** Whether to emit debugging information. */
     private static final boolean debug = false;
+
+    /**
+     * Makes the threads on which hosts run: virtual threads unless the
+     * <code>threads</code> system property is <code>platform</code> or the
+     * runtime predates them.  Parked virtual threads free their carriers, so
+     * idle hosts cost memory but no threads of the operating system; they
+     * should therefore idle with the <code>Park</code> wait strategy, since
+     * one that spins holds its carrier.
+     */
+    public static final ThreadFactory THREADS = createThreadFactory();
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Look up the factory for virtual threads, which the runtime may lack.
+     * Reflection keeps this class compatible with runtimes that don't.
+     *
+     * @return the factory for virtual threads if there is one and it is
+     *         wanted; otherwise, one for platform threads.
+     */
+    private static ThreadFactory createThreadFactory () {
+
+	if (!System.getProperty("threads", "virtual").equals("platform")) {
+	    try {
+		Object builder = Thread.class.getMethod("ofVirtual")
+		    .invoke(null);
+		return (ThreadFactory)Class.forName("java.lang.Thread$Builder")
+		    .getMethod("factory")
+		    .invoke(builder);
+	    } catch (ReflectiveOperationException e) {
+		// No virtual threads in this runtime.
+	    }
+	}
+
+	return Thread::new;
+
+    } // createThreadFactory ()
     // =========================================================================
 
     
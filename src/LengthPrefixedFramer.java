@@ -0,0 +1,288 @@
+// =============================================================================
+// IMPORTS
+
+import java.nio.ByteBuffer;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * Frames a body by preceding it with a header: a two-byte sync word, the
+ * body's length in two bytes, and a CRC-8 of those four.  The body itself is
+ * sent as is.  Once a header checks out, the receiver knows exactly how many
+ * bytes to wait for, and takes the body whole rather than examining each
+ * byte.  A header that fails its check is skipped a byte at a time until the
+ * next sync word, which also resynchronizes the receiver after corruption.
+ * Each received byte is consumed once, even when a frame arrives in pieces.
+ *
+ * @file   LengthPrefixedFramer.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class LengthPrefixedFramer extends Framer {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Embed the remaining bytes of a body into a frame.
+     *
+     * @param  body The bytes to be framed, which are consumed.
+     * @param  dst  The buffer into which to write the frame.
+     * @throws RuntimeException if the body is too long for the length field.
+     */
+    public void encode (ByteBuffer body, ByteBuffer dst) {
+
+	int length = body.remaining();
+	if (length > MAX_BODY_LENGTH) {
+	    throw new RuntimeException("Body of " + length +
+				       " bytes is too long to frame");
+	}
+
+	// The header, then its check, then the body.
+	int start = dst.position();
+	dst.put(SYNC_0);
+	dst.put(SYNC_1);
+	dst.put((byte)(length >>> 8));
+	dst.put((byte)length);
+	dst.put(headerCheck(dst, start));
+	dst.put(body);
+
+    } // encode ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  bodyLength The number of body bytes to be framed.
+     * @return the number of bytes a frame of such a body takes: the body and
+     *         its header.
+     */
+    public int maxEncodedLength (int bodyLength) {
+
+	return HEADER_LENGTH + bodyLength;
+
+    } // maxEncodedLength ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Consume received bytes until a complete frame has been, and return its
+     * body, with the framing removed.  Each byte is taken from the input
+     * exactly once: the header, or the part of the body received so far, is
+     * kept between calls.  Anything preceding a valid header is discarded.
+     *
+     * @param  in The received bytes, starting at the oldest.  Its position is
+     *            advanced past every byte examined.
+     * @return If the input completes a frame, its body, valid until the next
+     *         call; <code>null</code> otherwise.
+     */
+    public FrameView decode (ByteBuffer in) {
+
+	while (in.hasRemaining()) {
+
+	    // Gather the header, discarding everything before a sync word.
+	    if (bodyLength < 0) {
+
+		header[headerCount] = in.get();
+		headerCount += 1;
+		if (!syncBegins()) {
+		    resync();
+		} else if (headerCount == HEADER_LENGTH) {
+
+		    // A header that fails its check, or that claims an
+		    // impossible length, is not a real one: look for the
+		    // next.
+		    int length = (((header[2] & 0xff) << 8) |
+				  (header[3] & 0xff));
+		    if ((header[4] != headerCheck(headerView, 0)) ||
+			(length > MAX_BODY_LENGTH)) {
+			resync();
+		    } else {
+			if (bodyBytes.length < length) {
+			    bodyBytes = new byte[length];
+			}
+			bodyLength = length;
+			extracted  = 0;
+		    }
+
+		}
+		if (bodyLength < 0) {
+		    continue;
+		}
+
+	    }
+
+	    // Take as much of the body as has arrived, whole.  An empty one is
+	    // complete with its header.
+	    int count = Math.min(in.remaining(), bodyLength - extracted);
+	    in.get(bodyBytes, extracted, count);
+	    extracted += count;
+	    if (extracted == bodyLength) {
+
+		bodyLength  = -1;
+		headerCount = 0;
+
+		if (DataLinkLayer.debug) {
+		    System.out.println("LengthPrefixedFramer.decode(): " +
+				       "Got whole frame!");
+		}
+
+		return body.set(bodyBytes, 0, extracted);
+
+	    }
+
+	}
+
+	// The frame, if any, is incomplete.
+	return null;
+
+    } // decode ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return whether the header bytes gathered so far could begin a sync
+     *         word.
+     */
+    private boolean syncBegins () {
+
+	return ((header[0] == SYNC_0) &&
+		((headerCount < 2) || (header[1] == SYNC_1)));
+
+    } // syncBegins ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Drop the first of the header bytes gathered so far, and then any more
+     * until the rest could begin a sync word.
+     */
+    private void resync () {
+
+	do {
+	    System.arraycopy(header, 1, header, 0, headerCount - 1);
+	    headerCount -= 1;
+	} while ((headerCount > 0) && !syncBegins());
+
+    } // resync ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  in    The buffer holding a header, at least up to its check.
+     * @param  start The index of the header's first byte.
+     * @return the CRC-8 of the header's sync word and length.
+     */
+    private static byte headerCheck (ByteBuffer in, int start) {
+
+	int crc = 0;
+	for (int i = start; i < start + HEADER_LENGTH - 1; i += 1) {
+	    crc = TABLE[(crc ^ in.get(i)) & 0xff];
+	}
+
+	return (byte)crc;
+
+    } // headerCheck ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Compute, for each value of a byte, the CRC-8 (polynomial
+     * <code>0x07</code>) remainder it leaves.
+     *
+     * @return the table.
+     */
+    private static int[] buildTable () {
+
+	int[] table = new int[256];
+	for (int value = 0; value < table.length; value += 1) {
+	    int crc = value;
+	    for (int bit = 0; bit < 8; bit += 1) {
+		crc = ((crc & 0x80) != 0) ? ((crc << 1) ^ 0x07) : (crc << 1);
+	    }
+	    table[value] = crc & 0xff;
+	}
+
+	return table;
+
+    } // buildTable ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The first byte of the sync word. */
+    private static final byte  SYNC_0          = (byte)0xc3;
+
+    /** The second byte of the sync word. */
+    private static final byte  SYNC_1          = (byte)0x5a;
+
+    /** The sync word, length, and check. */
+    private static final int   HEADER_LENGTH   = 5;
+
+    /**
+     * The longest body accepted: a frame of data plus ample room for any
+     * layer's own headers and check.  A header claiming more is corrupt.
+     */
+    private static final int   MAX_BODY_LENGTH =
+	Math.min(DataLinkLayer.MAX_FRAME_SIZE + 64, 0xffff);
+
+    /** The CRC-8 remainder for each byte value. */
+    private static final int[] TABLE           = buildTable();
+
+    /** The header bytes gathered so far. */
+    private final byte[]     header      = new byte[HEADER_LENGTH];
+
+    /** The gathered header bytes, for checking. */
+    private final ByteBuffer headerView  = ByteBuffer.wrap(header);
+
+    /** The number of header bytes gathered so far. */
+    private int              headerCount = 0;
+
+    /** The length of the body being extracted; -1 while gathering a header. */
+    private int              bodyLength  = -1;
+
+    /** Scratch space for the body extracted from a frame. */
+    private byte[]           bodyBytes   =
+	new byte[2 * DataLinkLayer.MAX_FRAME_SIZE];
+
+    /** The number of body bytes extracted so far. */
+    private int              extracted   = 0;
+
+    /** The view handed out for each extracted body. */
+    private final FrameView  body        = new FrameView();
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class LengthPrefixedFramer
+// =============================================================================
@@ -0,0 +1,250 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.function.Supplier;
+import java.util.logging.ConsoleHandler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A thin wrapper around a <code>java.util.logging</code> logger, for code on
+ * the path of every frame.  The level is read once, from the
+ * <code>logLevel</code> system property, into constants; each method tests one
+ * before doing anything else, so that a disabled message costs a branch that
+ * the compiler removes.  Messages are given as suppliers, built only if they
+ * are logged, and <code>entering()</code> takes the method's name rather than
+ * walking the stack for it.
+ *
+ * For example, to see every frame's progress through a layer:
+ *
+ * <pre>
+ *   java -DlogLevel=FINER Simulator LowNoise PAR message.txt
+ * </pre>
+ *
+ * @file   LinkLogger.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class LinkLogger {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create a logger for a class, at the level set for all of them.
+     *
+     * @param  source The class whose messages are to be logged.
+     * @return The newly created logger.
+     */
+    public static LinkLogger getLogger (Class<?> source) {
+
+	return new LinkLogger(source.getName());
+
+    } // getLogger ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Log a message reporting a failure.
+     *
+     * @param message Builds the message, if it is to be logged.
+     */
+    public void severe (Supplier<String> message) {
+
+	if (SEVERE) {
+	    log(Level.SEVERE, message);
+	}
+
+    } // severe ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Log a message reporting trouble that was recovered from.
+     *
+     * @param message Builds the message, if it is to be logged.
+     */
+    public void warning (Supplier<String> message) {
+
+	if (WARNING) {
+	    log(Level.WARNING, message);
+	}
+
+    } // warning ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Log a message tracing a protocol event.
+     *
+     * @param message Builds the message, if it is to be logged.
+     */
+    public void fine (Supplier<String> message) {
+
+	if (FINE) {
+	    log(Level.FINE, message);
+	}
+
+    } // fine ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Log a message tracing a step within a method.
+     *
+     * @param message Builds the message, if it is to be logged.
+     */
+    public void finer (Supplier<String> message) {
+
+	if (FINER) {
+	    log(Level.FINER, message);
+	}
+
+    } // finer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Log entry into a method.
+     *
+     * @param method The name of the method entered.
+     */
+    public void entering (String method) {
+
+	if (FINER) {
+	    logger.entering(className, method);
+	}
+
+    } // entering ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Constructor.  Set the underlying logger to the configured level, and
+     * give it a console handler of its own if the default one would hide
+     * messages below <code>INFO</code>.
+     *
+     * @param className The name of the class whose messages are logged.
+     */
+    private LinkLogger (String className) {
+
+	this.className = className;
+	logger         = Logger.getLogger(className);
+	logger.setLevel(LEVEL);
+	if (LEVEL.intValue() < Level.INFO.intValue() &&
+	    logger.getHandlers().length == 0) {
+
+	    ConsoleHandler handler = new ConsoleHandler();
+	    handler.setLevel(LEVEL);
+	    logger.addHandler(handler);
+	    logger.setUseParentHandlers(false);
+
+	}
+
+    } // LinkLogger ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Pass a message on to the underlying logger, naming the method that
+     * logged it.  Only messages that are logged pay to find the method.
+     *
+     * @param level   The level of the message.
+     * @param message Builds the message.
+     */
+    private void log (Level level, Supplier<String> message) {
+
+	// Skip this method and the level's method that called it.
+	String method = StackWalker.getInstance().walk(frames -> frames
+	    .skip(2)
+	    .map(StackWalker.StackFrame::getMethodName)
+	    .findFirst()
+	    .orElse(null));
+	logger.logp(level, className, method, message);
+
+    } // log ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  level A level at which messages may be logged.
+     * @return whether messages at that level are logged.
+     */
+    private static boolean isEnabled (Level level) {
+
+	return (LEVEL != Level.OFF) && (level.intValue() >= LEVEL.intValue());
+
+    } // isEnabled ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The name of the class whose messages are logged. */
+    private final String className;
+
+    /** The logger to which enabled messages are passed. */
+    private final Logger logger;
+
+    /**
+     * The level below which messages are dropped: <code>OFF</code>,
+     * <code>SEVERE</code>, <code>FINE</code>, <code>FINER</code>, or (by
+     * default) <code>WARNING</code>, as set by the <code>logLevel</code>
+     * system property.
+     */
+    public static final Level   LEVEL   =
+	Level.parse(System.getProperty("logLevel", "WARNING"));
+
+    /** Whether <code>SEVERE</code> messages are logged. */
+    public static final boolean SEVERE  = isEnabled(Level.SEVERE);
+
+    /** Whether <code>WARNING</code> messages are logged. */
+    public static final boolean WARNING = isEnabled(Level.WARNING);
+
+    /** Whether <code>FINE</code> messages are logged. */
+    public static final boolean FINE    = isEnabled(Level.FINE);
+
+    /** Whether <code>FINER</code> messages are logged. */
+    public static final boolean FINER   = isEnabled(Level.FINER);
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class LinkLogger
+// =============================================================================
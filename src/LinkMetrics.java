@@ -0,0 +1,528 @@
+// =============================================================================
+// IMPORTS
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * Counts what happens on a link, for reading live over JMX.  Every data link
+ * layer and every medium has one, registered with the platform MBean server
+ * as <code>FlowControl:type=</code><i>kind</i><code>,name=</code><i>class</i>
+ * <code>-</code><i>n</i>.  Counters are <code>LongAdder</code>s, so the
+ * threads of a link's hosts can count concurrently without contending.
+ *
+ * A layer's metrics also count into those of its medium, which so sum the
+ * whole link: there, efficiency compares the data delivered to every bit that
+ * crossed the medium, whichever way it went.
+ *
+ * @file   LinkMetrics.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class LinkMetrics implements LinkMetricsMBean {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create metrics for one layer or medium, and register them.
+     *
+     * @param  kind  The kind of object counted: <code>DataLinkLayer</code> or
+     *               <code>Medium</code>.
+     * @param  owner The object counted.
+     * @throws RuntimeException if the metrics could not be registered.
+     */
+    public LinkMetrics (String kind, Object owner) {
+
+	String name = owner.getClass().getSimpleName() + "-" +
+	    INSTANCES.incrementAndGet();
+	try {
+	    objectName = new ObjectName(DOMAIN + ":type=" + kind +
+					",name=" + name);
+	    ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+								     objectName);
+	} catch (JMException e) {
+	    throw new RuntimeException("Could not register metrics " + name, e);
+	}
+
+	resetTime = System.nanoTime();
+
+    } // LinkMetrics ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Also count everything counted here into other metrics, such as those of
+     * the medium a layer uses.  Should be called before counting begins.
+     *
+     * @param parent The metrics to count into.
+     */
+    public void countInto (LinkMetrics parent) {
+
+	this.parent = parent;
+
+    } // countInto ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Remove these metrics from the MBean server, once their link is done.
+     * They can still be read directly.
+     */
+    public void unregister () {
+
+	try {
+	    ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+	} catch (JMException e) {
+	    // Already gone.
+	}
+
+    } // unregister ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Count a frame transmitted, and its bits.  A medium counts the bits that
+     * cross it itself, so only the frame is counted into it.
+     *
+     * @param bytes The length of the frame.
+     */
+    public void countFrameSent (int bytes) {
+
+	framesSent.increment();
+	bitsTransmitted.add((long)bytes * Byte.SIZE);
+	if (parent != null) {
+	    parent.framesSent.increment();
+	}
+
+    } // countFrameSent ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /** Count an intact frame received. */
+    public void countFrameReceived () {
+
+	framesReceived.increment();
+	if (parent != null) {
+	    parent.countFrameReceived();
+	}
+
+    } // countFrameReceived ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /** Count a frame resent. */
+    public void countRetransmission () {
+
+	retransmissions.increment();
+	if (parent != null) {
+	    parent.countRetransmission();
+	}
+
+    } // countRetransmission ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /** Count a received frame that failed its check. */
+    public void countChecksumFailure () {
+
+	checksumFailures.increment();
+	if (parent != null) {
+	    parent.countChecksumFailure();
+	}
+
+    } // countChecksumFailure ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /** Count a retransmission timeout that expired. */
+    public void countTimeout () {
+
+	timeouts.increment();
+	if (parent != null) {
+	    parent.countTimeout();
+	}
+
+    } // countTimeout ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /** Count an intact frame discarded as a duplicate. */
+    public void countDuplicateDiscarded () {
+
+	duplicatesDiscarded.increment();
+	if (parent != null) {
+	    parent.countDuplicateDiscarded();
+	}
+
+    } // countDuplicateDiscarded ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Count a frame's data delivered to a host.
+     *
+     * @param bytes The number of bytes delivered.
+     */
+    public void countFrameDelivered (int bytes) {
+
+	framesDelivered.increment();
+	bytesDelivered.add(bytes);
+	if (parent != null) {
+	    parent.countFrameDelivered(bytes);
+	}
+
+    } // countFrameDelivered ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Count bits carried by a medium.  Layers count their own bits with each
+     * frame sent.
+     *
+     * @param bits The number of bits.
+     */
+    public void countBitsTransmitted (long bits) {
+
+	bitsTransmitted.add(bits);
+
+    } // countBitsTransmitted ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Count bits flipped by a medium.
+     *
+     * @param bits The number of bits.
+     */
+    public void countBitsFlipped (long bits) {
+
+	bitsFlipped.add(bits);
+
+    } // countBitsFlipped ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public long getFramesSent () {
+
+	return framesSent.sum();
+
+    } // getFramesSent ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public long getFramesReceived () {
+
+	return framesReceived.sum();
+
+    } // getFramesReceived ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public long getRetransmissions () {
+
+	return retransmissions.sum();
+
+    } // getRetransmissions ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public long getChecksumFailures () {
+
+	return checksumFailures.sum();
+
+    } // getChecksumFailures ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public long getTimeouts () {
+
+	return timeouts.sum();
+
+    } // getTimeouts ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public long getDuplicatesDiscarded () {
+
+	return duplicatesDiscarded.sum();
+
+    } // getDuplicatesDiscarded ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public long getFramesDelivered () {
+
+	return framesDelivered.sum();
+
+    } // getFramesDelivered ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public long getBytesDelivered () {
+
+	return bytesDelivered.sum();
+
+    } // getBytesDelivered ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public long getBitsTransmitted () {
+
+	return bitsTransmitted.sum();
+
+    } // getBitsTransmitted ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public long getBitsFlipped () {
+
+	return bitsFlipped.sum();
+
+    } // getBitsFlipped ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public double getGoodput () {
+
+	double seconds = (System.nanoTime() - resetTime) / 1e9;
+	return getBytesDelivered() / seconds;
+
+    } // getGoodput ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public double getEfficiency () {
+
+	// A layer's own bits are mostly the other way from its data.
+	if (parent != null) {
+	    return parent.getEfficiency();
+	}
+
+	return ratio(getBytesDelivered() * Byte.SIZE, getBitsTransmitted());
+
+    } // getEfficiency ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public double getRetransmissionRatio () {
+
+	return ratio(getRetransmissions(), getFramesSent());
+
+    } // getRetransmissionRatio ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public double getFrameErrorRate () {
+
+	long failures = getChecksumFailures();
+	return ratio(failures, getFramesReceived() + failures);
+
+    } // getFrameErrorRate ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public double getBitErrorRate () {
+
+	if (parent != null) {
+	    return parent.getBitErrorRate();
+	}
+
+	return ratio(getBitsFlipped(), getBitsTransmitted());
+
+    } // getBitErrorRate ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public void reset () {
+
+	framesSent.reset();
+	framesReceived.reset();
+	retransmissions.reset();
+	checksumFailures.reset();
+	timeouts.reset();
+	duplicatesDiscarded.reset();
+	framesDelivered.reset();
+	bytesDelivered.reset();
+	bitsTransmitted.reset();
+	bitsFlipped.reset();
+	resetTime = System.nanoTime();
+
+    } // reset ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Summarize the counters on one line.
+     *
+     * @return the summary.
+     */
+    public String toString () {
+
+	return String.format("%s: %d frames sent, %d received, "     +
+			     "%d retransmissions, %d checksum failures, " +
+			     "%d timeouts, %d duplicates, "              +
+			     "%d frames delivered, %d bytes delivered, "  +
+			     "%d bits, %d flipped",
+			     objectName.getKeyProperty("name"),
+			     getFramesSent(),
+			     getFramesReceived(),
+			     getRetransmissions(),
+			     getChecksumFailures(),
+			     getTimeouts(),
+			     getDuplicatesDiscarded(),
+			     getFramesDelivered(),
+			     getBytesDelivered(),
+			     getBitsTransmitted(),
+			     getBitsFlipped());
+
+    } // toString ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  part  A count.
+     * @param  whole The count it is a share of.
+     * @return the share, or 0 if the whole is 0.
+     */
+    private static double ratio (long part, long whole) {
+
+	return (whole == 0) ? 0.0 : (double)part / whole;
+
+    } // ratio ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The name under which these metrics are registered. */
+    private final ObjectName objectName;
+
+    /** The metrics into which these also count; <code>null</code> if none. */
+    private volatile LinkMetrics parent;
+
+    /** The <code>System.nanoTime()</code> value at the last reset. */
+    private volatile long resetTime;
+
+    /** The frames transmitted, resends included. */
+    private final LongAdder framesSent          = new LongAdder();
+
+    /** The intact frames received. */
+    private final LongAdder framesReceived      = new LongAdder();
+
+    /** The frames resent. */
+    private final LongAdder retransmissions     = new LongAdder();
+
+    /** The received frames that failed their check. */
+    private final LongAdder checksumFailures    = new LongAdder();
+
+    /** The retransmission timeouts that expired. */
+    private final LongAdder timeouts            = new LongAdder();
+
+    /** The intact frames discarded as duplicates. */
+    private final LongAdder duplicatesDiscarded = new LongAdder();
+
+    /** The frames whose data was delivered to hosts. */
+    private final LongAdder framesDelivered     = new LongAdder();
+
+    /** The data bytes delivered to hosts. */
+    private final LongAdder bytesDelivered      = new LongAdder();
+
+    /** The bits put on the medium. */
+    private final LongAdder bitsTransmitted     = new LongAdder();
+
+    /** The bits that the medium flipped. */
+    private final LongAdder bitsFlipped         = new LongAdder();
+
+    /** The JMX domain under which metrics are registered. */
+    private static final String        DOMAIN    = "FlowControl";
+
+    /** The number of metrics created, which keeps their names unique. */
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class LinkMetrics
+// =============================================================================
@@ -0,0 +1,75 @@
+// =============================================================================
+/**
+ * The management interface of <code>LinkMetrics</code>, through which JMX
+ * clients (e.g., <code>jconsole</code>) read a link's counters and rates.
+ *
+ * @file   LinkMetricsMBean.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public interface LinkMetricsMBean {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /** @return the number of frames transmitted, resends included. */
+    public long getFramesSent ();
+
+    /** @return the number of intact frames received. */
+    public long getFramesReceived ();
+
+    /** @return the number of frames resent. */
+    public long getRetransmissions ();
+
+    /** @return the number of received frames that failed their check. */
+    public long getChecksumFailures ();
+
+    /** @return the number of retransmission timeouts that expired. */
+    public long getTimeouts ();
+
+    /** @return the number of intact frames discarded as duplicates. */
+    public long getDuplicatesDiscarded ();
+
+    /** @return the number of frames whose data was delivered to hosts. */
+    public long getFramesDelivered ();
+
+    /** @return the number of data bytes delivered to hosts. */
+    public long getBytesDelivered ();
+
+    /** @return the number of bits put on the medium. */
+    public long getBitsTransmitted ();
+
+    /** @return the number of bits that the medium flipped. */
+    public long getBitsFlipped ();
+
+    /** @return the data bytes delivered per second since the last reset. */
+    public double getGoodput ();
+
+    /**
+     * @return the share of bits on the medium that were delivered data; for a
+     *         layer, that of its medium.
+     */
+    public double getEfficiency ();
+
+    /** @return the share of frames sent that were resends. */
+    public double getRetransmissionRatio ();
+
+    /** @return the share of frames received that failed their check. */
+    public double getFrameErrorRate ();
+
+    /**
+     * @return the share of bits on the medium that were flipped; for a layer,
+     *         that of its medium.
+     */
+    public double getBitErrorRate ();
+
+    /** Zero every counter, and restart the goodput clock. */
+    public void reset ();
+    // =========================================================================
+
+
+
+// =============================================================================
+} // interface LinkMetricsMBean
+// =============================================================================
@@ -0,0 +1,193 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.function.IntUnaryOperator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * Measures what logging costs per frame when its messages are disabled.  Each
+ * way of logging makes the calls that a layer makes for one frame (entering
+ * a method, and a trace message built from the frame) many times over, at the
+ * default <code>WARNING</code> level, and the time per frame is reported
+ * against doing no logging at all.  The ways compared are:
+ *
+ * <ul>
+ *   <li><code>none</code>: no logging calls.</li>
+ *   <li><code>stack-walk</code>: a <code>java.util.logging</code> logger,
+ *       finding the method's name by capturing the stack, with the level set
+ *       on each call and messages built eagerly.</li>
+ *   <li><code>LinkLogger</code>: constant level checks, a named method, and
+ *       messages built by suppliers.</li>
+ * </ul>
+ *
+ * For example:
+ *
+ * <pre>
+ *   java LoggingBenchmark 10000000
+ * </pre>
+ *
+ * @file   LoggingBenchmark.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class LoggingBenchmark {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * The entry point.  Interpret the command-line arguments, aborting if they
+     * are invalid, and then time each way of logging, a few times over so
+     * that the later rounds are compiled.
+     *
+     * @param args The command-line arguments.
+     */
+    public static void main (String[] args) {
+
+	// Check the number of arguments passed.
+	if (args.length != 1) {
+
+	    System.err.println("Usage: java LoggingBenchmark " +
+			       "<number of frames>");
+	    System.exit(1);
+
+	}
+
+	// Assign names to the arguments.
+	int frameCount = Integer.parseInt(args[0]);
+
+	for (int round = 1; round <= ROUNDS; round += 1) {
+
+	    long none      = time(frameCount, LoggingBenchmark::noLogging);
+	    long stackWalk = time(frameCount, LoggingBenchmark::stackWalk);
+	    long link      = time(frameCount, LoggingBenchmark::linkLogger);
+	    System.out.printf("round %d: none %7.2f ns, stack-walk %7.2f ns, " +
+			      "LinkLogger %7.2f ns per frame\n",
+			      round,
+			      (double)none      / frameCount,
+			      (double)stackWalk / frameCount,
+			      (double)link      / frameCount);
+
+	}
+
+	// Keep the work from being optimized away.
+	if (sink == 42) {
+	    System.out.println();
+	}
+
+    } // main ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  frameCount The number of frames to log.
+     * @param  way        The logging done for one frame.
+     * @return the number of nanoseconds taken to log all of the frames.
+     */
+    private static long time (int frameCount, IntUnaryOperator way) {
+
+	long start = System.nanoTime();
+	for (int frame = 0; frame < frameCount; frame += 1) {
+	    sink += way.applyAsInt(frame);
+	}
+
+	return System.nanoTime() - start;
+
+    } // time ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Stand in for a frame's work, without logging it.
+     *
+     * @param  frame The number of the frame.
+     * @return a value derived from the frame.
+     */
+    private static int noLogging (int frame) {
+
+	return frame & 0xff;
+
+    } // noLogging ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Stand in for a frame's work, logging it by capturing the stack.
+     *
+     * @param  frame The number of the frame.
+     * @return a value derived from the frame.
+     */
+    private static int stackWalk (int frame) {
+
+	LOGGER.setLevel(Level.WARNING);
+	LOGGER.entering(LoggingBenchmark.class.getName(),
+			new Throwable().getStackTrace()[0].getMethodName());
+	LOGGER.fine("Frame number: " + frame);
+
+	return frame & 0xff;
+
+    } // stackWalk ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Stand in for a frame's work, logging it with a link logger.
+     *
+     * @param  frame The number of the frame.
+     * @return a value derived from the frame.
+     */
+    private static int linkLogger (int frame) {
+
+	LINK_LOGGER.entering("linkLogger");
+	LINK_LOGGER.fine(() -> "Frame number: " + frame);
+
+	return frame & 0xff;
+
+    } // linkLogger ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** How many times each way of logging is timed. */
+    private static final int        ROUNDS      = 5;
+
+    /** The logger used by the stack-walking way. */
+    private static final Logger     LOGGER      =
+	Logger.getLogger(LoggingBenchmark.class.getName());
+
+    /** The logger used by the link logger way. */
+    private static final LinkLogger LINK_LOGGER =
+	LinkLogger.getLogger(LoggingBenchmark.class);
+
+    /** Accumulates the results, so that they are used. */
+    private static long             sink;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class LoggingBenchmark
+// =============================================================================
@@ -43,22 +43,25 @@ public class LowNoiseMedium extends Medium {
 	if (!clients.contains(sender)) {
 	    throw new RuntimeException("Unregistered sender on the medium");
 	}
+	metrics.countBitsTransmitted(1);
+	long arrival = occupy(1);
 	
 	// Deliver the bit to each client that is not the sender.
 	Iterator<PhysicalLayer> clientIterator = clients.iterator();
 	while (clientIterator.hasNext()) {
 	    
 	    // With low probability, flip this bit.
-	    if (Math.random() < errorProbability) {
+	    if (random.nextDouble() < errorProbability) {
 		if (debug) {
 		    System.out.println("LowNoiseMedium.transmit(): Flipped bit!");
 		}
 		bit = !bit;
+		metrics.countBitsFlipped(1);
 	    }
 
 	    PhysicalLayer receiver = clientIterator.next();
 	    if (receiver != sender) {
-		receiver.receive(bit);
+		deliver(receiver, bit, arrival);
 	    }
 
 	}
@@ -68,11 +71,90 @@ public class LowNoiseMedium extends Medium {
 
 
 
+    // =========================================================================
+    /**
+     * Send a sequence of bits from one client to the other clients.  Each
+     * receiver independently sees each bit flipped with some probability.
+     * Rather than drawing a random number per bit, the distance to the next
+     * flipped bit is drawn from the matching geometric distribution, so a
+     * clean sequence costs a single draw.
+     *
+     * @param sender     The client physical layer sending the bits.
+     * @param packedBits The bits to send, sixty-four to a word, most
+     *                   significant first.
+     * @param bitCount   The number of bits to take from the words.
+     * @throws RuntimeException if the sender is not registered with this
+     *                          medium.
+     */
+    public void transmit (PhysicalLayer sender, long[] packedBits, int bitCount) {
+
+	// Only registered clients may send.
+	if (!clients.contains(sender)) {
+	    throw new RuntimeException("Unregistered sender on the medium");
+	}
+	metrics.countBitsTransmitted(bitCount);
+	long arrival = occupy(bitCount);
+
+	// Deliver the bits to each client that is not the sender.
+	for (int i = 0; i < clients.size(); i += 1) {
+
+	    PhysicalLayer receiver = clients.get(i);
+	    if (receiver == sender) {
+		continue;
+	    }
+
+	    // Flip the chosen bits in a private copy, leaving the sender's words
+	    // untouched; most sequences need no copy at all.
+	    long[] received = packedBits;
+	    long   flip     = nextFlipDistance();
+	    while (flip < bitCount) {
+		if (received == packedBits) {
+		    received = packedBits.clone();
+		}
+		if (debug) {
+		    System.out.println("LowNoiseMedium.transmit(): Flipped bit!");
+		}
+		int index = (int)flip;
+		received[index >>> 6] ^=
+		    1L << (Long.SIZE - 1 - (index & (Long.SIZE - 1)));
+		metrics.countBitsFlipped(1);
+		flip += 1 + nextFlipDistance();
+	    }
+
+	    deliver(receiver, received, bitCount, arrival);
+
+	}
+
+    } // transmit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Draw the number of unflipped bits that precede the next flipped one.
+     *
+     * @return a geometrically distributed count of bits.
+     */
+    private long nextFlipDistance () {
+
+	return (long)(Math.log(1.0 - random.nextDouble()) /
+		      logNoFlipProbability);
+
+    } // nextFlipDistance ()
+    // =========================================================================
+
+
+
     // =========================================================================
     // DATA MEMBERS
 
     // The probablity that a bit will flip.
     private static final double errorProbability = 0.001;
+
+    // The logarithm of the probability that a bit does not flip.
+    private static final double logNoFlipProbability =
+	Math.log(1.0 - errorProbability);
     // =========================================================================
 
 
@@ -1,9 +1,11 @@
 // =============================================================================
 // IMPORTS
 
-import java.util.Collection;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Queue;
+import java.util.Random;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 // =============================================================================
@@ -70,7 +72,8 @@ public abstract class Medium {
     // =========================================================================
     public Medium () {
 
-	clients = new LinkedList<PhysicalLayer>();
+	clients = new ArrayList<PhysicalLayer>();
+	metrics = new LinkMetrics("Medium", this);
 
     } // Medium ()
     // =========================================================================
@@ -103,14 +106,193 @@ public abstract class Medium {
 
 
 
+    // =========================================================================
+    /**
+     * Send a sequence of packed bits from one physical layer to others.  This
+     * default adapts the call to the bit-at-a-time <code>transmit()</code>;
+     * subclasses should override it to deliver the whole sequence at once.
+     * The medium must not hold on to the given words after returning.
+     *
+     * @param sender     The client physical layer sending the bits.
+     * @param packedBits The bits to send, sixty-four to a word, most
+     *                   significant first.
+     * @param bitCount   The number of bits to take from the words.
+     */
+    public void transmit (PhysicalLayer sender, long[] packedBits, int bitCount) {
+
+	for (int i = 0; i < bitCount; i += 1) {
+	    transmit(sender, PhysicalLayer.isSet(packedBits, i));
+	}
+
+    } // transmit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the counts of what has crossed this medium, including those of
+     *         the layers that use it.
+     */
+    public LinkMetrics getMetrics () {
+
+	return metrics;
+
+    } // getMetrics ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Carry transmissions across virtual time on a scheduler, rather than
+     * delivering them the moment they are sent.  Each transmission occupies
+     * the medium for as long as its bits take to send, after those already on
+     * it, and reaches receivers a propagation delay after its last bit is
+     * sent.  Should be called before any client transmits.
+     *
+     * @param scheduler The scheduler on which to deliver transmissions.
+     */
+    public void setScheduler (Scheduler scheduler) {
+
+	this.scheduler = scheduler;
+
+    } // setScheduler ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PROTECTED METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Reserve the medium for a transmission.
+     *
+     * @param  bitCount The number of bits transmitted.
+     * @return the virtual time at which the transmission reaches receivers;
+     *         meaningless if there is no scheduler.
+     */
+    protected long occupy (int bitCount) {
+
+	if (scheduler == null) {
+	    return 0;
+	}
+
+	long start = Math.max(scheduler.nanoTime(), busyUntil);
+	busyUntil  = start + bitCount * BIT_TIME_NS;
+
+	return busyUntil + PROPAGATION_DELAY_NS;
+
+    } // occupy ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Deliver a bit to a receiver: now, or if there is a scheduler, when it
+     * arrives.
+     *
+     * @param receiver The physical layer receiving the bit.
+     * @param bit      The bit.
+     * @param arrival  The time at which it arrives, from <code>occupy()</code>.
+     */
+    protected void deliver (PhysicalLayer receiver, boolean bit, long arrival) {
+
+	if (scheduler == null) {
+	    receiver.receive(bit);
+	} else {
+	    scheduler.schedule(arrival, () -> receiver.receive(bit));
+	}
+
+    } // deliver ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Deliver a sequence of bits to a receiver: now, or if there is a
+     * scheduler, when they arrive.
+     *
+     * @param receiver   The physical layer receiving the bits.
+     * @param packedBits The bits, sixty-four to a word, most significant
+     *                   first.
+     * @param bitCount   The number of bits to take from the words.
+     * @param arrival    The time at which they arrive, from
+     *                   <code>occupy()</code>.
+     */
+    protected void deliver (PhysicalLayer receiver,
+			    long[]        packedBits,
+			    int           bitCount,
+			    long          arrival) {
+
+	if (scheduler == null) {
+	    receiver.receive(packedBits, bitCount);
+	    return;
+	}
+
+	// The sender reuses its words, so carry a copy of them.
+	long[] carried = Arrays.copyOf(packedBits,
+				       (bitCount + Long.SIZE - 1) / Long.SIZE);
+	scheduler.schedule(arrival, () -> receiver.receive(carried, bitCount));
+
+    } // deliver ()
+    // =========================================================================
+
+
+
     // =========================================================================
     // DATA MEMBERS
 
-    /** The physical layer clients connected to the medium. */
-    protected Collection<PhysicalLayer> clients;    
+    /**
+     * The physical layer clients connected to the medium, in a list that can
+     * be walked by index, with no iterator to allocate per transmission.
+     */
+    protected List<PhysicalLayer> clients;
+
+    /** The counts of what has crossed this medium. */
+    protected final LinkMetrics metrics;
+
+    /**
+     * The source of noise, seeded by the <code>seed</code> system property if
+     * it is set, so that a noisy simulation can be repeated exactly.
+     */
+    protected final Random random = ((SEED == null)
+				     ? new Random()
+				     : new Random(SEED));
+
+    /** The scheduler carrying transmissions; <code>null</code> if none. */
+    private Scheduler scheduler;
+
+    /** The virtual time at which the last transmission is fully sent. */
+    private long busyUntil;
 
     /** Whether to emit debugging information. */
     protected static final boolean debug = false;
+
+    /** The seed of every medium's noise; <code>null</code> if unseeded. */
+    public static final Long SEED = Long.getLong("seed");
+
+    /**
+     * The nanoseconds each bit takes to send on a scheduled medium, from the
+     * <code>bitRate</code> system property, in bits per second (by default,
+     * ten million).
+     */
+    public static final long BIT_TIME_NS =
+	1000000000L / Long.getLong("bitRate", 10000000L);
+
+    /**
+     * The nanoseconds a scheduled transmission takes to reach receivers once
+     * sent, from the <code>propagationDelay</code> system property (by
+     * default, five microseconds).
+     */
+    public static final long PROPAGATION_DELAY_NS =
+	Long.getLong("propagationDelay", 5000L);
     // =========================================================================
     
 
@@ -1,14 +1,11 @@
 // =============================================================================
 // IMPORTS
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.Queue;
 // =============================================================================
 import java.util.Timer;
-import java.util.logging.Logger;
-import java.util.logging.Level;
 
 // =============================================================================
 /**
@@ -16,43 +13,152 @@ import java.util.logging.Level;
  * @author Ahmed Aly
  * @date April 2022
  *
- *       A data link layer that uses start/stop tags and byte packing to frame
- *       the
- *       data, and that performs error management with a parity bit. It employs
- *       an acknowlegment only protocol for flow control; damaged frames are resent.
+ *       A data link layer that frames the data with the layer's Framer
+ *       (originally start/stop tags and byte packing), and that performs
+ *       error management with the check computed by the layer's ErrorDetector
+ *       (originally a parity bit). It employs an acknowlegment only protocol
+ *       for flow control; damaged frames are resent. Every frame ends with a
+ *       control byte and then the check. The control byte holds the frame
+ *       number and, if the frame carries an acknowledgment, the number of the
+ *       frame it confirms, so that a late duplicate cannot confirm the next
+ *       frame. In two-way traffic the acknowledgment rides on the next data
+ *       frame; a delayed-acknowledgment timer sends it alone if no data frame
+ *       goes out in time. The first frame to fail its check since the last
+ *       intact one draws a negative acknowledgment naming the frame the
+ *       receiver still expects, which the sender resends at once rather than
+ *       waiting for its timeout, unless it resent that frame within the last
+ *       round trip. The retransmission timeout adapts to the measured
+ *       round-trip time (Jacobson/Karels), and backs off exponentially on
+ *       repeated timeouts of the same frame. Framing is implemented by the
+ *       FrameCodec methods; the queue-based methods adapt to them.
  */
-public class PARDataLinkLayer extends DataLinkLayer {
+public class PARDataLinkLayer extends DataLinkLayer implements FrameCodec {
 	// =============================================================================
 
 	// =========================================================================
 	// DATA MEMBERS
 
-	/** The start tag. */
-	private final byte startTag = (byte) '{';
+	/** The bit of the control byte that marks an acknowledgment. */
+	private static final byte ACKNOWLEDGMENT_FLAG = (byte) 0x80;
 
-	/** The stop tag. */
-	private final byte stopTag = (byte) '}';
+	/** The bit of the control byte that holds the frame number. */
+	private static final byte FRAME_NUMBER_MASK = (byte) 0x01;
 
-	/** The escape tag. */
-	private final byte escapeTag = (byte) '\\';
+	/** Where the acknowledged frame number sits in the control byte. */
+	private static final int ACKNOWLEDGED_SHIFT = 1;
 
-	/** The Acknowledgment tag */
-	private final byte acknowledgmentTag = (byte) 6;
+	/** The bit of the control byte that marks a negative acknowledgment. */
+	private static final byte NEGATIVE_ACKNOWLEDGMENT_FLAG = (byte) 0x40;
 
-	private final int TIMEOUT_INTERVAL_MS = 100;
+	/** Where the negatively acknowledged frame number sits in the control byte. */
+	private static final int NEGATIVELY_ACKNOWLEDGED_SHIFT = 2;
+
+	/** How long an acknowledgment may wait for a data frame to carry it. */
+	private static final long ACKNOWLEDGMENT_DELAY_NS = 200L * 1000L;
+
+	/** Scratch space for the body of the next acknowledgment. */
+	private final ByteBuffer acknowledgmentBody = ByteBuffer.allocate(1 + ErrorDetector.MAX_LENGTH);
+
+	/** Scratch space for the next acknowledgment frame. */
+	private final ByteBuffer acknowledgmentFrame = ByteBuffer
+			.allocate(framer.maxEncodedLength(1 + ErrorDetector.MAX_LENGTH));
+
+	/** Scratch space for the body of the next frame to be encoded. */
+	private final ByteBuffer body = ByteBuffer.allocate(MAX_FRAME_SIZE + 1 + ErrorDetector.MAX_LENGTH);
+
+	/** Scratch space for a resent frame, encoded anew. */
+	private final ByteBuffer resendFrame = ByteBuffer
+			.allocate(framer.maxEncodedLength(MAX_FRAME_SIZE + 1 + ErrorDetector.MAX_LENGTH));
+
+	/** The number of acknowledgments carried on data frames. */
+	private volatile long acknowledgmentsPiggybacked;
+
+	/** The number of acknowledgments sent in frames of their own. */
+	private volatile long acknowledgmentsSentAlone;
+
+	/** The number of frames resent because a negative acknowledgment asked. */
+	private volatile long framesResentOnNegativeAcknowledgment;
+
+	/** The number of frames resent because the retransmission timer expired. */
+	private volatile long framesResentOnTimeout;
 
 	/** signals if we created the sender class yet or not. */
 	private Sender sender = new Sender();
 	/** signals if we created the receiver class yet or not. */
 	private Receiver receiver = new Receiver();
 
-	/** creates a volatile logger instance to be accessed by both threads. */
-	private static volatile Logger LOGGER = Logger.getLogger(PARDataLinkLayer.class.getName());
+	/** logs this layer's events, at the level set by the logLevel property. */
+	private static final LinkLogger LOGGER = LinkLogger.getLogger(PARDataLinkLayer.class);
+	// =========================================================================
+
+	// =========================================================================
+	/**
+	 * @return the current retransmission timeout in nanoseconds.
+	 */
+	public long getRetransmissionTimeout() {
+
+		return sender.roundTrip.getTimeout();
+
+	} // getRetransmissionTimeout ()
+		// =========================================================================
+
+	// =========================================================================
+	/**
+	 * @return the smoothed round-trip time in nanoseconds, or zero if no round
+	 *         trip has been measured yet.
+	 */
+	public long getSmoothedRoundTripTime() {
+
+		return sender.roundTrip.getSmoothedRoundTripTime();
+
+	} // getSmoothedRoundTripTime ()
+		// =========================================================================
+
+	// =========================================================================
+	/**
+	 * @return the number of acknowledgments carried on data frames.
+	 */
+	public long getAcknowledgmentsPiggybacked() {
+
+		return acknowledgmentsPiggybacked;
+
+	} // getAcknowledgmentsPiggybacked ()
+		// =========================================================================
 
-	private static final boolean logging = true;
-	/** Use to control the level to display log messages for. */
-	private static final Level LOGGER_LEVEL = Level.WARNING; 
 	// =========================================================================
+	/**
+	 * @return the number of acknowledgments sent in frames of their own.
+	 */
+	public long getAcknowledgmentsSentAlone() {
+
+		return acknowledgmentsSentAlone;
+
+	} // getAcknowledgmentsSentAlone ()
+		// =========================================================================
+
+	// =========================================================================
+	/**
+	 * @return the number of frames resent because a negative acknowledgment
+	 *         asked for them.
+	 */
+	public long getFramesResentOnNegativeAcknowledgment() {
+
+		return framesResentOnNegativeAcknowledgment;
+
+	} // getFramesResentOnNegativeAcknowledgment ()
+		// =========================================================================
+
+	// =========================================================================
+	/**
+	 * @return the number of frames resent because the retransmission timer
+	 *         expired.
+	 */
+	public long getFramesResentOnTimeout() {
+
+		return framesResentOnTimeout;
+
+	} // getFramesResentOnTimeout ()
+		// =========================================================================
 
 	// =========================================================================
 	/**
@@ -63,145 +169,151 @@ public class PARDataLinkLayer extends DataLinkLayer {
 	 */
 	protected Queue<Byte> createFrame(Queue<Byte> data) {
 
-		// Calculate the parity.
+		return encodeFrame(data);
 
-		// add the frame number as either zero or one to the data to
-		// be calculated in the parity.
-		data.add((byte) (sender.currFrameNumber));
-		byte parity = calculateParity(data);
+	} // createFrame ()
+		// =========================================================================
 
-		// Begin with the start tag.
-		Queue<Byte> framingData = new LinkedList<Byte>();
-		framingData.add(startTag);
+	// =========================================================================
+	/**
+	 * Embed a raw sequence of bytes into a framed sequence.
+	 *
+	 * @param src The raw data to be framed.
+	 * @param dst The buffer into which to write the frame.
+	 */
+	public void encode(ByteBuffer src, ByteBuffer dst) {
 
-		// Add each byte of original data.
-		for (byte currentByte : data) {
+		// Keep the data, in case the frame must be resent.
+		sender.keepData(src);
+		encodeBody(src, dst);
 
-			// If the current data byte is itself a metadata tag, then precede
-			// it with an escape tag.
-			if ((currentByte == startTag) ||
-					(currentByte == stopTag) ||
-					(currentByte == escapeTag)) {
+	} // encode ()
+		// =========================================================================
 
-				framingData.add(escapeTag);
+	// =========================================================================
+	/**
+	 * Frame a body of the given data, the control byte, and the check. Any
+	 * acknowledgment awaiting a data frame is carried in the control byte.
+	 *
+	 * @param data The data of the frame.
+	 * @param dst  The buffer into which to write the frame.
+	 */
+	private void encodeBody(ByteBuffer data, ByteBuffer dst) {
+
+		// The body of the frame is the data, then the control byte holding the
+		// frame number as either zero or one, then the check of both.
+		body.clear();
+		body.put(data);
+		if (receiver.acknowledgmentPending) {
+			acknowledgmentsPiggybacked += 1;
+		}
+		body.put(controlByte(sender.currFrameNumber));
+		errorDetector.append(body);
+		body.flip();
 
-			}
+		// Frame the body.
+		framer.encode(body, dst);
 
-			// Add the data byte itself.
-			framingData.add(currentByte);
+	} // encodeBody ()
+		// =========================================================================
 
+	// =========================================================================
+	/**
+	 * Build the control byte for an outgoing frame, taking up any pending
+	 * acknowledgment.
+	 *
+	 * @param frameNumber The number of the frame, or zero for a frame that
+	 *                    carries only an acknowledgment.
+	 * @return the control byte.
+	 */
+	private byte controlByte(int frameNumber) {
+
+		int control = frameNumber;
+		if (receiver.acknowledgmentPending) {
+			control |= ACKNOWLEDGMENT_FLAG | (receiver.acknowledgedFrameNumber << ACKNOWLEDGED_SHIFT);
+			receiver.acknowledgmentPending = false;
 		}
-		// Add the parity byte.
-		framingData.add(parity);
+		return (byte) control;
 
-		// End with a stop tag.
-		framingData.add(stopTag);
+	} // controlByte ()
+		// =========================================================================
 
-		return framingData;
+	// =========================================================================
+	/**
+	 * @param dataLength The number of raw data bytes to be framed.
+	 * @return the largest number of bytes a frame of that much data, plus the
+	 *         frame number and the check, may take.
+	 */
+	public int maxEncodedLength(int dataLength) {
 
-	} // createFrame ()
+		return framer.maxEncodedLength(dataLength + 1 + errorDetector.length());
+
+	} // maxEncodedLength ()
 		// =========================================================================
 
 	// =========================================================================
 	/**
 	 * Determine whether the received, buffered data constitutes a complete
 	 * frame. If so, then remove the framing metadata and return the original
-	 * data. Note that any data preceding an escaped start tag is assumed to be
-	 * part of a damaged frame, and is thus discarded.
+	 * data.
 	 *
 	 * @return If the buffer contains a complete frame, the extracted, original
 	 *         data; <code>null</code> otherwise.
 	 */
 	protected Queue<Byte> processFrame() {
-		// Log information on the current method call.
-		LOGGER.entering(PARDataLinkLayer.class.getName(), new Throwable().getStackTrace()[0].getMethodName());
-
-		// Search for a start tag. Discard anything prior to it.
-		boolean startTagFound = false;
-		Iterator<Byte> i = receiveBuffer.iterator();
-		while (!startTagFound && i.hasNext()) {
-			byte current = i.next();
-			if (current != startTag) {
-				i.remove();
-			} else {
-				startTagFound = true;
-			}
-		}
 
-		// If there is no start tag, then there is no frame.
-		if (!startTagFound) {
-			return null;
-		}
+		FrameView frame = decodeFrame();
+		return (frame == null) ? null : frame.toQueue();
 
-		// Try to extract data while waiting for an unescaped stop tag.
-		int index = 1;
-		LinkedList<Byte> extractedBytes = new LinkedList<Byte>();
-		boolean stopTagFound = false;
-		while (!stopTagFound && i.hasNext()) {
-
-			// Grab the next byte. If it is...
-			// (a) An escape tag: Skip over it and grab what follows as
-			// literal data.
-			// (b) A stop tag: Remove all processed bytes from the buffer and
-			// end extraction.
-			// (c) A start tag: All that precedes is damaged, so remove it
-			// from the buffer and restart extraction.
-			// (d) Otherwise: Take it as literal data.
-			byte current = i.next();
-			index += 1;
-			if (current == escapeTag) {
-				if (i.hasNext()) {
-					current = i.next();
-					index += 1;
-					extractedBytes.add(current);
-				} else {
-					// An escape was the last byte available, so this is not a
-					// complete frame.
-					return null;
-				}
-			} else if (current == stopTag) {
-				cleanBufferUpTo(index);
-				stopTagFound = true;
-			} else if (current == startTag) {
-				cleanBufferUpTo(index - 1);
-				index = 1;
-				extractedBytes = new LinkedList<Byte>();
-			} else {
-				extractedBytes.add(current);
-			}
+	} // processFrame ()
+		// =========================================================================
 
-		}
+	// =========================================================================
+	/**
+	 * Determine whether the received data constitutes a complete frame. If so,
+	 * then consume it, remove the framing metadata and return the original
+	 * data.
+	 *
+	 * @param in The received bytes, starting at the oldest.
+	 * @return If the input contains a complete, intact frame, the extracted,
+	 *         original data followed by the control byte, or just the control
+	 *         byte of an acknowledgment; <code>null</code> otherwise.
+	 */
+	public FrameView decode(ByteBuffer in) {
+		// Log information on the current method call.
+		LOGGER.entering("decode");
+		long start = FrameEvent.ChecksumFailure.KIND.started();
 
-		// If there is no stop tag, then the frame is incomplete.
-		if (!stopTagFound) {
+		// Extract the body of the next complete frame, if any.
+		FrameView frame = framer.decode(in);
+		if (frame == null) {
 			return null;
 		}
-
-		if (debug) {
-			System.out.println("ParityDataLinkLayer.processFrame(): Got whole frame!");
-		}
-		LOGGER.finer("Whole Frame Processed.");
-
-		if (extractedBytes.size() > 1) { // if this is not just the ack byte
-
-			// The final byte inside the frame is the parity. Compare it to a
-			// recalculation.
-			byte receivedParity = extractedBytes.remove(extractedBytes.size() - 1);
-			byte calculatedParity = calculateParity(extractedBytes);
-			if (receivedParity != calculatedParity) {
-				LOGGER.warning("RECEIVER: Damaged frame: " + extractedBytes);
-				return null;
+		LOGGER.finer(() -> "Whole Frame Processed.");
+
+		// The frame ends with the check. Compare it to a recalculation. Every
+		// frame has at least a control byte before the check.
+		int extracted = frame.length();
+		int covered = extracted - errorDetector.length();
+		if (covered < 1 || !errorDetector.verify(frame)) {
+			LOGGER.warning(() -> "RECEIVER: Damaged frame of " + extracted + " bytes");
+			LOGGER.fine(() -> "RECEIVER: Damaged frame: " + Arrays.toString(
+					Arrays.copyOfRange(frame.array(), frame.offset(),
+							frame.offset() + Math.max(0, covered))));
+			metrics.countChecksumFailure();
+			FrameEvent.ChecksumFailure.KIND.emitSince(framesReceived, extracted, start);
+			// ask for the expected frame now, rather than after a timeout,
+			// unless it has already been asked for.
+			if (!receiver.negativeAcknowledgmentSent) {
+				sendNegativeAcknowledgment();
 			}
-
-			// * puts the frame number as the first byte in the extracted bytes for consistency.
-			// * later code assumes that the frame number is the first byte in the frame. This is
-			// * mainly done for simplicity of coding and performance.
-			extractedBytes.addFirst(extractedBytes.removeLast());
+			return null;
 		}
+
 		// we received a non-damaged frame.
-		return extractedBytes;
+		return frame.set(frame.array(), frame.offset(), covered);
 
-	} // processFrame ()
+	} // decode ()
 		// =========================================================================
 
 	// =========================================================================
@@ -213,13 +325,8 @@ public class PARDataLinkLayer extends DataLinkLayer {
 	 */
 	@Override
 	protected Queue<Byte> sendNextFrame() {
-		if (!logging) {
-			LOGGER.setLevel(Level.OFF);
-		} else{
-			LOGGER.setLevel(LOGGER_LEVEL);
-		}
 		// Log information on the current method call.
-		LOGGER.entering(PARDataLinkLayer.class.getName(), new Throwable().getStackTrace()[0].getMethodName());
+		LOGGER.entering("sendNextFrame");
 
 		if (!sender.confirmationReceived) {
 			// if we didn't receive a confirmation on the last frame
@@ -231,6 +338,29 @@ public class PARDataLinkLayer extends DataLinkLayer {
 
 	}
 
+	// =========================================================================
+	/**
+	 * Extract the next frame-worth of data from the sending buffer, encode it,
+	 * and then send it, but only once the last frame sent has been confirmed.
+	 *
+	 * @return the encoded frame transmitted; <code>null</code> if nothing was
+	 *         sent.
+	 */
+	@Override
+	protected ByteBuffer sendNextEncodedFrame() {
+		// Log information on the current method call.
+		LOGGER.entering("sendNextEncodedFrame");
+
+		if (!sender.confirmationReceived) {
+			// if we didn't receive a confirmation on the last frame
+			// don't do anything.
+			return null;
+		}
+		// Extract a frame-worth of data from the sending buffer.
+		return super.sendNextEncodedFrame();
+
+	}
+
 	// =========================================================================
 	/**
 	 * After sending a frame, do any bookkeeping (e.g., buffer the frame in case
@@ -239,26 +369,88 @@ public class PARDataLinkLayer extends DataLinkLayer {
 	 * @param frame The framed data that was transmitted.
 	 */
 	protected void finishFrameSend(Queue<Byte> frame) {
+
+		FrameView encoded = FrameView.copyOf(frame);
+		finishFrameSend(ByteBuffer.wrap(encoded.array(), encoded.offset(), encoded.length()));
+
+	} // finishFrameSend ()
+		// =========================================================================
+
+	// =========================================================================
+	/**
+	 * After sending a frame, do any bookkeeping (e.g., buffer the frame in case
+	 * a resend is required).
+	 *
+	 * @param frame The encoded frame that was transmitted.
+	 */
+	public void finishFrameSend(ByteBuffer frame) {
 		sender.frameSent(frame);
-		// COMPLETE ME WITH FLOW CONTROL
 
 	} // finishFrameSend ()
 		// =========================================================================
 
 	/**
-	 * @brief Creates a new frame that has an acknowledgment byte.
-	 *        It transmits the frame across the medium then. It also
-	 *        updates the fields of receiver to reflect the acknowledgment.
+	 * @brief Arranges for the given frame number to be acknowledged. If data is
+	 *        waiting to be sent, the acknowledgment waits a while to ride on
+	 *        its frame; otherwise it is sent at once, since waiting could only
+	 *        stall the sender.
+	 * @param frameNumber the number of the frame being acknowledged.
+	 */
+	private void scheduleAcknowledgment(byte frameNumber) {
+		if (!receiver.acknowledgmentPending) {
+			receiver.acknowledgmentDeadline = clock.nanoTime() + ACKNOWLEDGMENT_DELAY_NS;
+		}
+		receiver.acknowledgmentPending = true;
+		receiver.acknowledgedFrameNumber = frameNumber;
+		if (sendBuffer.isEmpty()) {
+			sendAcknowledgment();
+		}
+	}
+
+	/**
+	 * @brief Creates a new frame that carries only the pending acknowledgment,
+	 *        and transmits it across the medium.
 	 */
 	private void sendAcknowledgment() {
-		Queue<Byte> framingData = new LinkedList<Byte>();
-		// create frame.
-		framingData.add(startTag);
-		framingData.add(acknowledgmentTag);
-		framingData.add(stopTag);
-		// transmit frame.
-		transmit(framingData);
-		// updates the fields of receiver to reflect the acknowledgment
+		sendControlFrame(0);
+	}
+
+	/**
+	 * @brief Creates a new frame that asks for the frame the receiver expects
+	 *        next, and transmits it across the medium. As with HDLC's reject,
+	 *        at most one is sent for each expected frame until an intact data
+	 *        frame arrives: framing may split one damaged transmission into
+	 *        several damaged frames, and a resend asked for by each would
+	 *        itself be damaged and asked for again, without end. A lost
+	 *        negative acknowledgment, or a damaged resend, is left to the
+	 *        timeout.
+	 */
+	private void sendNegativeAcknowledgment() {
+		receiver.negativeAcknowledgmentSent = true;
+		sendControlFrame(NEGATIVE_ACKNOWLEDGMENT_FLAG
+				| (receiver.getFrameNumber() << NEGATIVELY_ACKNOWLEDGED_SHIFT));
+	}
+
+	/**
+	 * @brief Creates a new frame with no data, carrying the pending
+	 *        acknowledgment, if any, and the given flags, and transmits it
+	 *        across the medium.
+	 * @param flags the bits to set in the control byte.
+	 */
+	private void sendControlFrame(int flags) {
+		// the body is just the control byte and its check.
+		if (receiver.acknowledgmentPending) {
+			acknowledgmentsSentAlone += 1;
+		}
+		acknowledgmentBody.clear();
+		acknowledgmentBody.put((byte) (controlByte(0) | flags));
+		errorDetector.append(acknowledgmentBody);
+		acknowledgmentBody.flip();
+
+		acknowledgmentFrame.clear();
+		framer.encode(acknowledgmentBody, acknowledgmentFrame);
+		acknowledgmentFrame.flip();
+		transmit(acknowledgmentFrame);
 	}
 
 	// =========================================================================
@@ -270,13 +462,55 @@ public class PARDataLinkLayer extends DataLinkLayer {
 	 * @param frame The frame of bytes received.
 	 */
 	protected void finishFrameReceive(Queue<Byte> frame) {
-		LOGGER.entering(PARDataLinkLayer.class.getName(), new Throwable().getStackTrace()[0].getMethodName());
 
-		LOGGER.finer("Checking acknowledgement for received frame.");
+		finishFrameReceive(FrameView.copyOf(frame));
+
+	} // finishFrameReceive ()
+	// =========================================================================
+
+	// =========================================================================
+	/**
+	 * After receiving a frame, do any bookkeeping (e.g., deliver the frame to
+	 * the client, if appropriate) and responding (e.g., send an
+	 * acknowledgment).
+	 *
+	 * @param frame The data extracted from the frame followed by the control
+	 *              byte, or just the control byte of an acknowledgment.
+	 */
+	public void finishFrameReceive(FrameView frame) {
+		LOGGER.entering("finishFrameReceive");
+
+		LOGGER.finer(() -> "Checking acknowledgement for received frame.");
 		
-		// Sender POV if ack received.
+		// Sender POV if ack received, alone or on a data frame. An ack for any
+		// frame but the one outstanding is a duplicate, answering a frame that
+		// was resent needlessly.
 		if (checkForAck(frame)) {
-			sender.acknowledgmentReceived();
+			int control = frame.get(frame.length() - 1);
+			int frameNumber = (control >> ACKNOWLEDGED_SHIFT) & FRAME_NUMBER_MASK;
+			if (!sender.confirmationReceived && frameNumber == sender.currFrameNumber) {
+				FrameEvent.AckReceived.KIND.emit(framesCreated, frame.length(), clock.nanoTime() - sender.firstSent);
+				sender.acknowledgmentReceived();
+			}
+		}
+
+		// Sender POV if nak received. Resend the frame it asks for, if that
+		// frame is still outstanding and was not just resent: a nak that
+		// arrives within a round trip of a resend may have been sent before
+		// the resend could arrive.
+		if (checkForNegativeAck(frame)) {
+			int control = frame.get(frame.length() - 1);
+			int frameNumber = (control >> NEGATIVELY_ACKNOWLEDGED_SHIFT)
+					& FRAME_NUMBER_MASK;
+			if (!sender.confirmationReceived && frameNumber == sender.currFrameNumber
+					&& !sender.resentWithinRoundTrip()) {
+				framesResentOnNegativeAcknowledgment += 1;
+				resendMessage();
+			}
+		}
+
+		if (frame.length() == 1) {
+			// the frame was just an acknowledgment.
 			return;
 		}
 
@@ -296,12 +530,9 @@ public class PARDataLinkLayer extends DataLinkLayer {
 	 * @brief delivers the frame to the client
 	 * @param frame the frame to deliver to the client
 	 */
-	private void deliverFrame(Queue<Byte> frame) {
-		byte[] deliverable = new byte[frame.size()];
-		for (int i = 0; i < deliverable.length; i += 1) {
-			deliverable[i] = frame.remove();
-		}
-		client.receive(deliverable);
+	private void deliverFrame(FrameView frame) {
+		// leave off the control byte.
+		deliver(frame.array(), frame.offset(), frame.length() - 1);
 	}
 
 	/**
@@ -310,44 +541,61 @@ public class PARDataLinkLayer extends DataLinkLayer {
 	 * @param frame is the frame to extract the frame number from
 	 * @return a boolean indicating if the extracted frame number matches the expected frame number
 	 */
-	private boolean compareFrameNumbers(Queue<Byte> frame){
-		// Retrieves the frame number from the queue's top.
-		byte frameNumber = frame.remove();
-		// sends acknowledgement, assumes @param frame is a duplicate frame if frame numbers don't match.
-		sendAcknowledgment(); 
+	private boolean compareFrameNumbers(FrameView frame){
+		// Retrieves the frame number from the control byte, the frame's last byte.
+		byte frameNumber = (byte) (frame.get(frame.length() - 1) & FRAME_NUMBER_MASK);
+		// an intact data frame arrived, so the next damaged one may be asked for.
+		receiver.negativeAcknowledgmentSent = false;
+		// acknowledges, assumes @param frame is a duplicate frame if frame
+		// numbers don't match.
+		scheduleAcknowledgment(frameNumber);
 		// check if the frame numbers match
 		if (frameNumber == receiver.getFrameNumber()) {
 			receiver.incrementFrameNumber();
 			return true;
 		} else {
 			// if frameNumbers mismatch, assume it is a duplicate
-			LOGGER.fine("RECEIVER: FRAME NUMBER MISMATCH. " + "Sent Frame Number: "
+			LOGGER.fine(() -> "RECEIVER: FRAME NUMBER MISMATCH. " + "Sent Frame Number: "
 					+ frameNumber + " Receiver Frame number: " + receiver.getFrameNumber() + "\n");
+			metrics.countDuplicateDiscarded();
 			return false;
 		}
 
 	}
 
 	/**
-	 * @brief Checks whether the passed in frame constitutes an acknowledgement byte.
-	 * @param frame the frame to check. The frame should be free of any metadata other than frame numbers or ack byte.
-	 * @return a boolean that is true if the passed frame is just an acknowledgement byte, false otherwise.
+	 * @brief Checks whether the passed in frame carries an acknowledgement.
+	 * @param frame the frame to check. The frame should be free of any
+	 *              metadata other than the control byte.
+	 * @return a boolean that is true if the passed frame's control byte
+	 *         acknowledges a frame, false otherwise.
 	 */
-	private boolean checkForAck(Queue<Byte> frame) {
-		if (frame.size() == 1) { 
-			// True if the only byte sent is an acknowledgment.
-			// This is because we have at least one parity byte + data for normal frames.
-			Byte ackByte = frame.remove();
-			if (ackByte != acknowledgmentTag) { // This should always be true
-				LOGGER.fine("SENDER: Acknowledgement Tag bits flipped\n");
-			}
-			LOGGER.fine("SENDER: Sender received acknowledgement\n");
+	private boolean checkForAck(FrameView frame) {
+		if ((frame.get(frame.length() - 1) & ACKNOWLEDGMENT_FLAG) != 0) {
+			// The check has already been verified, so the flag is intact.
+			LOGGER.fine(() -> "SENDER: Sender received acknowledgement\n");
 			// signal that we received an acknowledgement byte
 			return true;
 		}
 		return false;
 	}
 
+	/**
+	 * @brief Checks whether the passed in frame carries a negative
+	 *        acknowledgement.
+	 * @param frame the frame to check. The frame should be free of any
+	 *              metadata other than the control byte.
+	 * @return a boolean that is true if the passed frame's control byte asks
+	 *         for a frame, false otherwise.
+	 */
+	private boolean checkForNegativeAck(FrameView frame) {
+		if ((frame.get(frame.length() - 1) & NEGATIVE_ACKNOWLEDGMENT_FLAG) != 0) {
+			LOGGER.fine(() -> "SENDER: Sender received negative acknowledgement\n");
+			return true;
+		}
+		return false;
+	}
+
 	// =========================================================================
 	/**
 	 * Determine whether a timeout should occur and be processed. This method
@@ -355,83 +603,83 @@ public class PARDataLinkLayer extends DataLinkLayer {
 	 * time has passed since some kind of response is expected.
 	 */
 	protected void checkTimeout() {
+		// send any acknowledgment that no data frame came along to carry.
+		if (receiver.acknowledgmentPending && clock.nanoTime() - receiver.acknowledgmentDeadline >= 0) {
+			sendAcknowledgment();
+		}
 		if (sender.confirmationReceived) {
 			// if we received a confirmation, no need
 			// to check the timeout.
 			return;
 		}
 		long timeDuration = sender.timerDuration();
-		if (timeDuration > TIMEOUT_INTERVAL_MS) {
-			LOGGER.fine("TIMEOUT OCCURED: " + timeDuration + "\n");
-			// signal that a timeout has occurred if 100 milliseconds have passed since we
-			// sent out message.
-			// resend the message.
+		if (timeDuration >= sender.roundTrip.getTimeout()) {
+			LOGGER.fine(() -> "TIMEOUT OCCURED: " + timeDuration + "\n");
+			// signal that a timeout has occurred if the retransmission timeout has
+			// passed since we sent out message. Back off before resending.
+			sender.roundTrip.backOff();
+			framesResentOnTimeout += 1;
+			metrics.countTimeout();
+			FrameEvent.TimeoutFired.KIND.emit(framesCreated, sender.lastData.remaining(), timeDuration);
 			resendMessage();
 			// message should be resent in sendNextFrame()
 		}
 	} // checkTimeout ()
 		// =========================================================================
 
-	/**
-	 * @brief Method that resends the last sent message.
-	 * @throws IllegalStateException if the last sent frame is null
-	 *                               This happens when we are sending frame #0.
-	 */
-	private void resendMessage() {
-		if (sender.lastFrame == null) {
-			LOGGER.severe("SENDER: Resending null frame");
-			throw new IllegalStateException();
-		}
-
-		// resend the lost frame.
-		LOGGER.warning("SENDER: Resending Frame: " + sender.lastFrame + "\n");
-
-		transmit(sender.lastFrame);
-		// reset the timer to zero.
-		sender.endTimer();
-		// return the sent frame.
-		finishFrameSend(sender.lastFrame);
-	}
-
 	// =========================================================================
 	/**
-	 * For a sequence of bytes, determine its parity.
+	 * Report when the retransmission timer or the delayed-acknowledgment timer
+	 * expires, so that an idle event loop wakes up in time to act.
 	 *
-	 * @param data The sequence of bytes over which to calculate.
-	 * @return <code>1</code> if the parity is odd; <code>0</code> if the parity
-	 *         is even.
+	 * @return the clock.nanoTime() value at which the earlier timeout is due,
+	 *         or WaitStrategy.NO_DEADLINE if no frame awaits confirmation and
+	 *         no acknowledgment awaits sending.
 	 */
-	private byte calculateParity(Queue<Byte> data) {
-
-		int parity = 0;
-		for (byte b : data) {
-			for (int j = 0; j < Byte.SIZE; j += 1) {
-				if (((1 << j) & b) != 0) {
-					parity ^= 1;
-				}
-			}
+	@Override
+	protected long nextDeadline() {
+		long deadline = WaitStrategy.NO_DEADLINE;
+		if (!sender.confirmationReceived) {
+			deadline = sender.timerStart + sender.roundTrip.getTimeout();
 		}
-
-		return (byte) parity;
-
-	} // calculateParity ()
+		if (receiver.acknowledgmentPending
+				&& (deadline == WaitStrategy.NO_DEADLINE || receiver.acknowledgmentDeadline - deadline < 0)) {
+			deadline = receiver.acknowledgmentDeadline;
+		}
+		return deadline;
+	} // nextDeadline ()
 		// =========================================================================
 
-	// =========================================================================
 	/**
-	 * Remove a leading number of elements from the receive buffer.
-	 *
-	 * @param index The index of the position up to which the bytes are to be
-	 *              removed.
+	 * @brief Method that resends the last sent message. The frame is encoded
+	 *        anew, so that it carries the current acknowledgment, if any,
+	 *        rather than a stale one.
+	 * @throws IllegalStateException if the last sent data is null
+	 *                               This happens when we are sending frame #0.
 	 */
-	private void cleanBufferUpTo(int index) {
-
-		for (int i = 0; i < index; i += 1) {
-			receiveBuffer.remove();
+	private void resendMessage() {
+		if (sender.lastData == null) {
+			LOGGER.severe(() -> "SENDER: Resending null frame");
+			throw new IllegalStateException();
 		}
 
-	} // cleanBufferUpTo ()
-		// =========================================================================
+		// resend the lost frame.
+		LOGGER.warning(() -> "SENDER: Resending Frame " + sender.currFrameNumber
+				+ " of " + sender.lastData.remaining() + " bytes");
+		LOGGER.fine(() -> "SENDER: Resending Frame: " + Arrays.toString(
+				Arrays.copyOfRange(sender.lastData.array(),
+						sender.lastData.position(), sender.lastData.limit())) + "\n");
+
+		// encode straight from the kept data, then rewind it for any later
+		// resend.
+		resendFrame.clear();
+		encodeBody(sender.lastData, resendFrame);
+		sender.lastData.rewind();
+		resendFrame.flip();
+		transmit(resendFrame);
+		sender.frameResent();
+		metrics.countRetransmission();
+	}
 
 	// =========================================================================
 	// LOCAL CLASSES
@@ -441,33 +689,91 @@ public class PARDataLinkLayer extends DataLinkLayer {
 		private int currFrameNumber = 0;
 		// boolean that flags that we got confirmation on the last sent frame.
 		public boolean confirmationReceived = true;
-		// queue that holds the last sent frame
-		public Queue<Byte> lastFrame = null;
-		// a long that holds the time unit where we started a timer
+		// buffer that holds a copy of the data of the last sent frame
+		public ByteBuffer lastData = null;
+		// space reused for the copies of sent data
+		private ByteBuffer lastDataSpace = ByteBuffer.allocate(MAX_FRAME_SIZE);
+		// the clock.nanoTime() value at which we started the timer
 		private long timerStart;
+		// whether the timer is running
+		private boolean timerRunning = false;
+		// when the frame awaiting confirmation was first sent
+		private long firstSent;
+		// whether the frame awaiting confirmation has been resent
+		private boolean resent;
+		// when the frame awaiting confirmation was last resent
+		private long lastResent;
+		// the round-trip estimate, which sets how long to wait for an
+		// acknowledgment before resending
+		private final RoundTripEstimator roundTrip = new RoundTripEstimator();
+
+		/**
+		 * @brief keeps a copy of the data about to be framed, since the buffer
+		 *        holding it is reused.
+		 * @param data the data, between its position and limit, which are left
+		 *             unchanged.
+		 */
+		public void keepData(ByteBuffer data) {
+			lastDataSpace.clear();
+			lastDataSpace.put(0, data, data.position(), data.remaining());
+			lastDataSpace.limit(data.remaining());
+			lastData = lastDataSpace;
+		}
 
-		public void frameSent(Queue<Byte> frame) {
+		public void frameSent(ByteBuffer frame) {
 			// we have not received the confirmation message yet.
 			confirmationReceived = false;
 			// we can not send the next frame yet.
-			// updates the current last frame.
-			lastFrame = frame;
+			firstSent = clock.nanoTime();
+			resent = false;
 
 			// starts a new timer
 			endTimer();
 			startNewTimer();
 		}
 
+		/**
+		 * @brief restarts the timer after the last frame was resent.
+		 */
+		public void frameResent() {
+			resent = true;
+			lastResent = clock.nanoTime();
+			endTimer();
+			startNewTimer();
+		}
+
 		public void acknowledgmentReceived() {
+			// Karn's rule: an ack for a resent frame may answer any of its
+			// copies, so only a frame sent once gives a round-trip sample.
+			if (!resent) {
+				roundTrip.measure(clock.nanoTime() - firstSent);
+			} else {
+				// the frame got through, so drop any backoff, even though
+				// there is no sample to refine the estimate with.
+				roundTrip.reset();
+			}
 			// update that we should send the next frame.
 			// no need to keep track of the old frame.
-			lastFrame = null;
+			lastData = null;
 			confirmationReceived = true;
 			incrementFrameNumber();
 			// reset the timer to zero.
 			endTimer();
 		}
 
+		/**
+		 * @brief returns whether the frame awaiting confirmation was resent
+		 *        less than a smoothed round trip ago, or, before any round
+		 *        trip is measured, less than a timeout ago.
+		 */
+		public boolean resentWithinRoundTrip() {
+			long roundTripTime = roundTrip.getSmoothedRoundTripTime();
+			if (roundTripTime == 0) {
+				roundTripTime = roundTrip.getTimeout();
+			}
+			return resent && clock.nanoTime() - lastResent < roundTripTime;
+		}
+
 		/**
 		 * @brief increments the current frame number to be sent using createFrame.
 		 */
@@ -480,27 +786,28 @@ public class PARDataLinkLayer extends DataLinkLayer {
 		 * @brief starts a timer for this instance once called.
 		 */
 		public void startNewTimer() {
-			timerStart = System.currentTimeMillis();
+			timerStart = clock.nanoTime();
+			timerRunning = true;
 		}
 
 		/**
 		 * @brief returns how long the timer has been running for
-		 * @return a long denoting how many milliseconds have passed since the timer was
-		 *         started.
+		 * @return a long denoting how many nanoseconds have passed since the
+		 *         timer was started.
 		 */
 		public long timerDuration() {
-			if (timerStart == 0) {
+			if (!timerRunning) {
 				// ensure that the timer has started before
 				throw new IllegalStateException("Timer has not been started yet.");
 			}
-			return System.currentTimeMillis() - timerStart;
+			return clock.nanoTime() - timerStart;
 		}
 
 		/**
-		 * @brief resets the timer to its initial state of zero.
+		 * @brief stops the timer.
 		 */
 		public void endTimer() {
-			timerStart = 0;
+			timerRunning = false;
 		}
 
 	}
@@ -508,7 +815,15 @@ public class PARDataLinkLayer extends DataLinkLayer {
 	class Receiver {
 		// stores current frame number to send using createFrame.
 		private int currFrameNumber = 0;
-		// boolean signaling that we received the correct frame.
+		// whether a received frame awaits acknowledgment.
+		private boolean acknowledgmentPending = false;
+		// the number of the frame to acknowledge.
+		private int acknowledgedFrameNumber;
+		// the clock.nanoTime() value by which the acknowledgment must be sent.
+		private long acknowledgmentDeadline;
+		// whether the expected frame has been asked for since the last intact
+		// data frame arrived.
+		private boolean negativeAcknowledgmentSent = false;
 
 		/**
 		 * @brief increments the current frame number to be sent using createFrame.
@@ -1,9 +1,7 @@
 // =============================================================================
 // IMPORTS
 
-import java.util.Arrays;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.nio.ByteBuffer;
 import java.util.Queue;
 // =============================================================================
 
@@ -14,15 +12,19 @@ import java.util.Queue;
  * @author Scott F. Kaplan (sfkaplan@cs.amherst.edu)
  * @date   February 2020
  *
- * A data link layer that uses start/stop tags and byte packing to frame the
- * data, and that performs error management with a parity bit.  It employs no
- * flow control; damaged frames are dropped.
+ * A data link layer that frames the data with the layer's
+ * <code>Framer</code> (originally start/stop tags and byte packing), and that
+ * performs error management with a check appended to each
+ * frame: originally a parity bit, now whichever kind the layer's
+ * <code>ErrorDetector</code> computes.  It employs no flow control; damaged
+ * frames are dropped.  Framing is implemented by the <code>FrameCodec</code>
+ * methods; the queue-based methods adapt to them.
  */
-public class ParityDataLinkLayer extends DataLinkLayer {
+public class ParityDataLinkLayer extends DataLinkLayer implements FrameCodec {
 // =============================================================================
 
 
- 
+
     // =========================================================================
     /**
      * Embed a raw sequence of bytes into a framed sequence.
@@ -32,133 +34,100 @@ public class ParityDataLinkLayer extends DataLinkLayer {
      */
     protected Queue<Byte> createFrame (Queue<Byte> data) {
 
-	// Calculate the parity.
-	byte parity = calculateParity(data);
-	
-	// Begin with the start tag.
-	Queue<Byte> framingData = new LinkedList<Byte>();
-	framingData.add(startTag);
+	return encodeFrame(data);
 
-	// Add each byte of original data.
-        for (byte currentByte : data) {
+    } // createFrame ()
+    // =========================================================================
 
-	    // If the current data byte is itself a metadata tag, then precede
-	    // it with an escape tag.
-	    if ((currentByte == startTag) ||
-		(currentByte == stopTag) ||
-		(currentByte == escapeTag)) {
 
-		framingData.add(escapeTag);
 
-	    }
+    // =========================================================================
+    /**
+     * Embed a raw sequence of bytes into a framed sequence.
+     *
+     * @param src The raw data to be framed.
+     * @param dst The buffer into which to write the frame.
+     */
+    public void encode (ByteBuffer src, ByteBuffer dst) {
+
+	// The body of the frame is the data followed by its check.
+	body.clear();
+	body.put(src);
+	errorDetector.append(body);
+	body.flip();
 
-	    // Add the data byte itself.
-	    framingData.add(currentByte);
+	// Frame the body.
+	framer.encode(body, dst);
 
-	}
+    } // encode ()
+    // =========================================================================
 
-	// Add the parity byte.
-	framingData.add(parity);
-	
-	// End with a stop tag.
-	framingData.add(stopTag);
 
-	return framingData;
-	
-    } // createFrame ()
+
+    // =========================================================================
+    /**
+     * @param  dataLength The number of raw data bytes to be framed.
+     * @return the largest number of bytes a frame of that much data, plus its
+     *         check, may take.
+     */
+    public int maxEncodedLength (int dataLength) {
+
+	return framer.maxEncodedLength(dataLength + errorDetector.length());
+
+    } // maxEncodedLength ()
     // =========================================================================
 
 
-    
+
     // =========================================================================
     /**
      * Determine whether the received, buffered data constitutes a complete
      * frame.  If so, then remove the framing metadata and return the original
-     * data.  Note that any data preceding an escaped start tag is assumed to be
-     * part of a damaged frame, and is thus discarded.
+     * data.
      *
      * @return If the buffer contains a complete frame, the extracted, original
      * data; <code>null</code> otherwise.
      */
     protected Queue<Byte> processFrame () {
 
-	// Search for a start tag.  Discard anything prior to it.
-	boolean        startTagFound = false;
-	Iterator<Byte>             i = receiveBuffer.iterator();
-	while (!startTagFound && i.hasNext()) {
-	    byte current = i.next();
-	    if (current != startTag) {
-		i.remove();
-	    } else {
-		startTagFound = true;
-	    }
-	}
+	FrameView frame = decodeFrame();
+	return (frame == null) ? null : frame.toQueue();
 
-	// If there is no start tag, then there is no frame.
-	if (!startTagFound) {
-	    return null;
-	}
-	
-	// Try to extract data while waiting for an unescaped stop tag.
-        int                       index = 1;
-	LinkedList<Byte> extractedBytes = new LinkedList<Byte>();
-	boolean            stopTagFound = false;
-	while (!stopTagFound && i.hasNext()) {
-
-	    // Grab the next byte.  If it is...
-	    //   (a) An escape tag: Skip over it and grab what follows as
-	    //                      literal data.
-	    //   (b) A stop tag:    Remove all processed bytes from the buffer and
-	    //                      end extraction.
-	    //   (c) A start tag:   All that precedes is damaged, so remove it
-	    //                      from the buffer and restart extraction.
-	    //   (d) Otherwise:     Take it as literal data.
-	    byte current = i.next();
-            index += 1;
-	    if (current == escapeTag) {
-		if (i.hasNext()) {
-		    current = i.next();
-                    index += 1;
-		    extractedBytes.add(current);
-		} else {
-		    // An escape was the last byte available, so this is not a
-		    // complete frame.
-		    return null;
-		}
-	    } else if (current == stopTag) {
-		cleanBufferUpTo(index);
-		stopTagFound = true;
-	    } else if (current == startTag) {
-		cleanBufferUpTo(index - 1);
-                index = 1;
-		extractedBytes = new LinkedList<Byte>();
-	    } else {
-		extractedBytes.add(current);
-	    }
+    } // processFrame ()
+    // =========================================================================
 
-	}
 
-	// If there is no stop tag, then the frame is incomplete.
-	if (!stopTagFound) {
+
+    // =========================================================================
+    /**
+     * Determine whether the received data constitutes a complete frame.  If
+     * so, then consume it, remove the framing metadata and return the original
+     * data.
+     *
+     * @param  in The received bytes, starting at the oldest.
+     * @return If the input contains a complete, intact frame, the extracted,
+     *         original data; <code>null</code> otherwise.
+     */
+    public FrameView decode (ByteBuffer in) {
+
+	// Extract the body of the next complete frame, if any.
+	FrameView frame = framer.decode(in);
+	if (frame == null) {
 	    return null;
 	}
 
-	if (debug) {
-	    System.out.println("ParityDataLinkLayer.processFrame(): Got whole frame!");
-	}
-        
-	// The final byte inside the frame is the parity.  Compare it to a
-	// recalculation.
-	byte receivedParity   = extractedBytes.remove(extractedBytes.size() - 1);
-	byte calculatedParity = calculateParity(extractedBytes);
-	if (receivedParity != calculatedParity) {
+	// The frame ends with the check.  Compare it to a recalculation.
+	if (!errorDetector.verify(frame)) {
 	    System.out.printf("ParityDataLinkLayer.processFrame():\tDamaged frame\n");
+	    metrics.countChecksumFailure();
 	    return null;
 	}
 
-	return extractedBytes;
+	return frame.set(frame.array(),
+			 frame.offset(),
+			 frame.length() - errorDetector.length());
 
-    } // processFrame ()
+    } // decode ()
     // =========================================================================
 
 
@@ -169,11 +138,11 @@ public class ParityDataLinkLayer extends DataLinkLayer {
      * a resend is required).
      *
      * @param frame The framed data that was transmitted.
-     */ 
+     */
     protected void finishFrameSend (Queue<Byte> frame) {
 
         // COMPLETE ME WITH FLOW CONTROL
-        
+
     } // finishFrameSend ()
     // =========================================================================
 
@@ -181,84 +150,68 @@ public class ParityDataLinkLayer extends DataLinkLayer {
 
     // =========================================================================
     /**
-     * After receiving a frame, do any bookkeeping (e.g., deliver the frame to
-     * the client, if appropriate) and responding (e.g., send an
-     * acknowledgment).
+     * After sending a frame, do any bookkeeping (e.g., buffer the frame in case
+     * a resend is required).
      *
-     * @param frame The frame of bytes received.
+     * @param frame The encoded frame that was transmitted.
      */
-    protected void finishFrameReceive (Queue<Byte> frame) {
+    public void finishFrameSend (ByteBuffer frame) {
 
-        // COMPLETE ME WITH FLOW CONTROL
-        
-        // Deliver frame to the client.
-        byte[] deliverable = new byte[frame.size()];
-        for (int i = 0; i < deliverable.length; i += 1) {
-            deliverable[i] = frame.remove();
-        }
+	// COMPLETE ME WITH FLOW CONTROL
 
-        client.receive(deliverable);
-        
-    } // finishFrameReceive ()
+    } // finishFrameSend ()
     // =========================================================================
 
 
 
     // =========================================================================
     /**
-     * Determine whether a timeout should occur and be processed.  This method
-     * is called regularly in the event loop, and should check whether too much
-     * time has passed since some kind of response is expected.
+     * After receiving a frame, do any bookkeeping (e.g., deliver the frame to
+     * the client, if appropriate) and responding (e.g., send an
+     * acknowledgment).
+     *
+     * @param frame The frame of bytes received.
      */
-    protected void checkTimeout () {
+    protected void finishFrameReceive (Queue<Byte> frame) {
 
-        // COMPLETE ME WITH FLOW CONTROL
+	finishFrameReceive(FrameView.copyOf(frame));
 
-    } // checkTimeout ()
+    } // finishFrameReceive ()
     // =========================================================================
 
 
 
     // =========================================================================
     /**
-     * For a sequence of bytes, determine its parity.
+     * After receiving a frame, do any bookkeeping (e.g., deliver the frame to
+     * the client, if appropriate) and responding (e.g., send an
+     * acknowledgment).
      *
-     * @param data The sequence of bytes over which to calculate.
-     * @return <code>1</code> if the parity is odd; <code>0</code> if the parity
-     *         is even.
+     * @param frame The data extracted from the frame.
      */
-    private byte calculateParity (Queue<Byte> data) {
-
-	int parity = 0;
-	for (byte b : data) {
-	    for (int j = 0; j < Byte.SIZE; j += 1) {
-		if (((1 << j) & b) != 0) {
-		    parity ^= 1;
-		}
-	    }
-	}
+    public void finishFrameReceive (FrameView frame) {
+
+        // COMPLETE ME WITH FLOW CONTROL
+
+        // Deliver frame to the client.
+        deliver(frame.array(), frame.offset(), frame.length());
 
-	return (byte)parity;
-	
-    } // calculateParity ()
+    } // finishFrameReceive ()
     // =========================================================================
-    
+
 
 
     // =========================================================================
     /**
-     * Remove a leading number of elements from the receive buffer.
-     *
-     * @param index The index of the position up to which the bytes are to be
-     *              removed.
+     * Determine whether a timeout should occur and be processed.  This method
+     * is called regularly in the event loop, and should check whether too much
+     * time has passed since some kind of response is expected.
      */
-    private void cleanBufferUpTo (int index) {
+    protected void checkTimeout () {
 
-        for (int i = 0; i < index; i += 1) {
-            receiveBuffer.remove();
-	}
+        // COMPLETE ME WITH FLOW CONTROL
 
-    } // cleanBufferUpTo ()
+    } // checkTimeout ()
     // =========================================================================
 
 
@@ -266,14 +219,10 @@ public class ParityDataLinkLayer extends DataLinkLayer {
     // =========================================================================
     // DATA MEMBERS
 
-    /** The start tag. */
-    private final byte startTag  = (byte)'{';
-
-    /** The stop tag. */
-    private final byte stopTag   = (byte)'}';
 
-    /** The escape tag. */
-    private final byte escapeTag = (byte)'\\';
+    /** Scratch space for the body of the next frame to be encoded. */
+    private final ByteBuffer body = ByteBuffer.allocate(MAX_FRAME_SIZE +
+							 ErrorDetector.MAX_LENGTH);
     // =========================================================================
 
 
@@ -0,0 +1,56 @@
+// =============================================================================
+/**
+ * A single parity byte: <code>1</code> if the covered bytes hold an odd
+ * number of one bits, <code>0</code> otherwise.  It catches only errors that
+ * flip an odd number of bits.
+ *
+ * @file   ParityErrorDetector.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class ParityErrorDetector extends ErrorDetector {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the one parity byte.
+     */
+    public int length () {
+
+	return 1;
+
+    } // length ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Fold the bytes together, since the parity of the whole is the parity of
+     * their exclusive or, and then count the ones in what remains.
+     *
+     * @param  data   The array holding the bytes.
+     * @param  offset The index of the first byte to cover.
+     * @param  length The number of bytes to cover.
+     * @return <code>1</code> if the parity is odd; <code>0</code> if the
+     *         parity is even.
+     */
+    public long calculate (byte[] data, int offset, int length) {
+
+	int folded = 0;
+	for (int i = offset; i < offset + length; i += 1) {
+	    folded ^= data[i];
+	}
+
+	return Integer.bitCount(folded & 0xff) & 1;
+
+    } // calculate ()
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class ParityErrorDetector
+// =============================================================================
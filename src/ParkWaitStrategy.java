@@ -0,0 +1,110 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.concurrent.locks.LockSupport;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A wait strategy that parks the event loop's thread until it is signalled or
+ * its deadline passes, so an idle layer uses no processor time.  A signal
+ * that arrives before the loop parks is remembered, so no wakeup is lost.
+ *
+ * @file   ParkWaitStrategy.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class ParkWaitStrategy extends WaitStrategy {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * On a virtual thread, yield after each round of work, so that a loop
+     * with much to do lets others run between rounds.  Virtual threads share
+     * a few carriers, and a sender that never yields would otherwise feed its
+     * receivers far faster than they can run to drain what it sends.  Platform
+     * threads are preempted anyway, and yielding only slows them.
+     */
+    public void busy () {
+
+	if (yielding == null) {
+	    yielding = Host.isVirtual(Thread.currentThread());
+	}
+	if (yielding) {
+	    Thread.yield();
+	}
+
+    } // busy ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Park until signalled or until the deadline passes.
+     *
+     * @param deadline The <code>System.nanoTime()</code> value at which to
+     *                 wake up regardless, or <code>NO_DEADLINE</code>.
+     */
+    public void idle (long deadline) {
+
+	waiter = Thread.currentThread();
+	if (!signalled) {
+	    if (deadline == NO_DEADLINE) {
+		LockSupport.park(this);
+	    } else {
+		long delay = deadline - System.nanoTime();
+		if (delay > 0) {
+		    LockSupport.parkNanos(this, delay);
+		}
+	    }
+	}
+
+	// The loop is about to look for work again, which covers any signal
+	// sent up to this point.
+	signalled = false;
+
+    } // idle ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Wake the parked loop, or keep it from parking if it is not yet parked.
+     */
+    public void signal () {
+
+	signalled = true;
+	Thread waiter = this.waiter;
+	if (waiter != null) {
+	    LockSupport.unpark(waiter);
+	}
+
+    } // signal ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The thread running the event loop, once it has idled. */
+    private volatile Thread  waiter;
+
+    /** Whether a signal has arrived since the loop last looked for work. */
+    private volatile boolean signalled;
+
+    /** Whether the loop yields after work, once its thread is known. */
+    private Boolean          yielding;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class ParkWaitStrategy
+// =============================================================================
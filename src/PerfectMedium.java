@@ -43,6 +43,8 @@ public class PerfectMedium extends Medium {
 	if (!clients.contains(sender)) {
 	    throw new RuntimeException("Unregistered sender on the medium");
 	}
+	metrics.countBitsTransmitted(1);
+	long arrival = occupy(1);
 	
 	// Deliver the bit to each client that is not the sender.
 	Iterator<PhysicalLayer> clientIterator = clients.iterator();
@@ -50,7 +52,7 @@ public class PerfectMedium extends Medium {
 	    
 	    PhysicalLayer receiver = clientIterator.next();
 	    if (receiver != sender) {
-		receiver.receive(bit);
+		deliver(receiver, bit, arrival);
 	    }
 
 	}
@@ -60,6 +62,40 @@ public class PerfectMedium extends Medium {
 
 
 
+    // =========================================================================
+    /**
+     * Send a sequence of bits from one client to the other clients, delivering
+     * the whole sequence to each at once.
+     *
+     * @param sender     The client physical layer sending the bits.
+     * @param packedBits The bits to send, sixty-four to a word, most
+     *                   significant first.
+     * @param bitCount   The number of bits to take from the words.
+     * @throws RuntimeException if the sender is not registered with this
+     *                          medium.
+     */
+    public void transmit (PhysicalLayer sender, long[] packedBits, int bitCount) {
+
+	// Only registered clients may send.
+	if (!clients.contains(sender)) {
+	    throw new RuntimeException("Unregistered sender on the medium");
+	}
+	metrics.countBitsTransmitted(bitCount);
+	long arrival = occupy(bitCount);
+
+	// Deliver the bits to each client that is not the sender.
+	for (int i = 0; i < clients.size(); i += 1) {
+	    PhysicalLayer receiver = clients.get(i);
+	    if (receiver != sender) {
+		deliver(receiver, packedBits, bitCount, arrival);
+	    }
+	}
+
+    } // transmit ()
+    // =========================================================================
+
+
+
 // =============================================================================
 } // class PerfectMedium
 // =============================================================================
@@ -1,16 +1,13 @@
-// =============================================================================
-// IMPORTS
-
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
-// =============================================================================
-
-
-
 // =============================================================================
 /**
  * Transmits bits across a medium.  Bits delivered by the medium are queued
  * until the client calls for their receiption.
+ *
+ * The queue is a ring of packed bits with one producer, the medium
+ * delivering to this layer, and one consumer, the client draining it, which
+ * pass bits between their threads without a lock.  A medium delivers on the
+ * thread of the layer transmitting; should several transmit at once, their
+ * deliveries here take turns, which costs nothing when only one does.
  * 
  * @file   PhysicalLayer.java
  * @author Scott F. Kaplan (sfkaplan@amherst.edu)
@@ -58,7 +55,7 @@ public class PhysicalLayer {
         medium.register(this);
 
         // Create the bit queue for received bits.
-        bitQueue = new ConcurrentLinkedQueue<Boolean>();
+        bitQueue = new SpscBitRingBuffer();
 
     } // PhysicalLayer ()
     // =========================================================================
@@ -87,6 +84,19 @@ public class PhysicalLayer {
 
 
 
+    // =========================================================================
+    /**
+     * @return the medium to which this layer is connected.
+     */
+    public Medium getMedium () {
+
+        return medium;
+
+    } // getMedium ()
+    // =========================================================================
+
+
+
     // =========================================================================
     /**
      * Send a client's bit via the medium.
@@ -102,6 +112,43 @@ public class PhysicalLayer {
 
 
 
+    // =========================================================================
+    /**
+     * Send a sequence of a client's bytes via the medium, each byte's bits
+     * ordered from most to least significant.  The bits are packed and handed
+     * to the medium in a single transmission.
+     *
+     * @param data   The array holding the bytes to send.
+     * @param offset The index of the first byte to send.
+     * @param length The number of bytes to send.
+     */
+    public void send (byte[] data, int offset, int length) {
+
+	// Make sure there is room for the packed bits.
+	int words = (length + Long.BYTES - 1) / Long.BYTES;
+	if (packedBits.length < words) {
+	    packedBits = new long[Math.max(words, packedBits.length * 2)];
+	}
+
+	// Pack the bytes eight to a word, the first byte most significant.
+	for (int word = 0; word < words; word += 1) {
+	    long packed = 0;
+	    int  start  = word * Long.BYTES;
+	    for (int i = 0; i < Long.BYTES; i += 1) {
+		int index = start + i;
+		long b    = (index < length) ? (data[offset + index] & 0xFF) : 0;
+		packed    = (packed << Byte.SIZE) | b;
+	    }
+	    packedBits[word] = packed;
+	}
+
+	medium.transmit(this, packedBits, length * Byte.SIZE);
+
+    } // send ()
+    // =========================================================================
+
+
+
     // =========================================================================
     /**
      * Called by the medium to receive a bit, which is then queued for
@@ -111,13 +158,72 @@ public class PhysicalLayer {
      */
     public void receive (boolean bit) {
 
-        bitQueue.offer(bit);
+	synchronized (bitQueue) {
+	    bitQueue.add(bit);
+	}
+	wakeClient();
         
     } // deliver ()
     // =========================================================================
 
 
 
+    // =========================================================================
+    /**
+     * Called by the medium to receive a sequence of packed bits, which are
+     * then queued for receiption by the client.
+     *
+     * @param packedBits The bits received, sixty-four to a word, most
+     *                   significant first.
+     * @param bitCount   The number of bits to take from the words.
+     */
+    public void receive (long[] packedBits, int bitCount) {
+
+	synchronized (bitQueue) {
+	    bitQueue.add(packedBits, bitCount);
+	}
+	wakeClient();
+
+    } // receive ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Let the client know that bits are waiting to be retrieved.
+     */
+    private void wakeClient () {
+
+	DataLinkLayer client = this.client;
+	if (client != null) {
+	    client.signal();
+	}
+
+    } // wakeClient ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Examine one bit of a packed sequence.
+     *
+     * @param  packedBits The bits, sixty-four to a word, most significant
+     *                    first.
+     * @param  index      The position of the bit to examine.
+     * @return whether the bit is a <code>1</code>.
+     */
+    public static boolean isSet (long[] packedBits, int index) {
+
+	long bitMask = 1L << (Long.SIZE - 1 - (index & (Long.SIZE - 1)));
+	return (packedBits[index >>> 6] & bitMask) != 0;
+
+    } // isSet ()
+    // =========================================================================
+
+
+
     // =========================================================================
     /**
      * Called by the client to retrieve the next queued bit received from the
@@ -128,9 +234,28 @@ public class PhysicalLayer {
      */
     public Boolean retrieve () {
 
-        return bitQueue.poll();
+        return bitQueue.isEmpty() ? null : bitQueue.remove();
 
-    } // receive ()
+    } // retrieve ()
+    // ===============================================================
+
+
+
+    // ===============================================================
+    /**
+     * Called by the client to retrieve as many queued bits received from the
+     * medium as there are, or as fit in the given words.
+     *
+     * @param  destination The words into which to pack the bits, sixty-four
+     *                     to a word, most significant first.
+     * @return the number of bits retrieved, which is <code>0</code> if none
+     *         have been received.
+     */
+    public int retrieve (long[] destination) {
+
+	return bitQueue.remove(destination);
+
+    } // retrieve ()
     // ===============================================================
 
 
@@ -142,10 +267,13 @@ public class PhysicalLayer {
     private Medium medium;
 
     /** The data link layer above this physical layer. */
-    private DataLinkLayer client;
+    private volatile DataLinkLayer client;
 
     /** A queue of bits that have been received from the medium. */
-    private Queue<Boolean> bitQueue;
+    private SpscBitRingBuffer bitQueue;
+
+    /** Scratch space in which outgoing bytes are packed for the medium. */
+    private long[] packedBits = new long[4];
     // ===============================================================
 
 
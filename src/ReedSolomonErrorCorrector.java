@@ -0,0 +1,434 @@
+// =============================================================================
+// IMPORTS
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A systematic Reed-Solomon code over GF(2^8): the block is sent as is,
+ * followed by parity bytes, and any bytes in error, up to half the number of
+ * parity bytes, are corrected however many of their bits flipped.  Decoding
+ * computes the syndromes, finds the error locator by Berlekamp-Massey, its
+ * roots by Chien search, and the error values by Forney's formula.
+ *
+ * The number of parity bytes is set by the <code>reedSolomonParity</code>
+ * system property (an even number from 2 to 64, by default 8).
+ *
+ * @file   ReedSolomonErrorCorrector.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class ReedSolomonErrorCorrector extends ErrorCorrector {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Default constructor.  Make room for decoding, and build the generator
+     * polynomial, whose roots are the first <code>PARITY_LENGTH</code> powers
+     * of the primitive element.
+     *
+     * @throws RuntimeException if the number of parity bytes is out of range.
+     */
+    public ReedSolomonErrorCorrector () {
+
+	if (PARITY_LENGTH < 2 || PARITY_LENGTH > 64 || PARITY_LENGTH % 2 != 0) {
+	    throw new RuntimeException("Reed-Solomon parity must be an even " +
+				       "number from 2 to 64, not " +
+				       PARITY_LENGTH);
+	}
+
+	remainder = new int[PARITY_LENGTH];
+	syndromes = new int[PARITY_LENGTH];
+	locator   = new int[PARITY_LENGTH + 1];
+	previous  = new int[PARITY_LENGTH + 1];
+	scratch   = new int[PARITY_LENGTH + 1];
+	evaluator = new int[PARITY_LENGTH];
+
+	// g(x) = (x - a^0)(x - a^1)...(x - a^(2t-1)), highest power first.
+	generator    = new int[PARITY_LENGTH + 1];
+	generator[0] = 1;
+	for (int root = 0; root < PARITY_LENGTH; root += 1) {
+	    for (int i = root + 1; i > 0; i -= 1) {
+		generator[i] ^= multiply(generator[i - 1], EXP[root]);
+	    }
+	}
+
+    } // ReedSolomonErrorCorrector ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  dataLength The number of bytes in a block.
+     * @return that number plus the parity bytes.
+     * @throws RuntimeException if the encoded block would be longer than the
+     *                          255 bytes the field allows.
+     */
+    public int encodedLength (int dataLength) {
+
+	if (dataLength + PARITY_LENGTH > 255) {
+	    throw new RuntimeException("Reed-Solomon block of " + dataLength +
+				       " bytes is too long");
+	}
+
+	return dataLength + PARITY_LENGTH;
+
+    } // encodedLength ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Write the block, then the remainder of dividing it (shifted up by the
+     * number of parity bytes) by the generator polynomial.
+     *
+     * @param data   The array holding the block.
+     * @param offset The index of the first byte of the block.
+     * @param length The number of bytes in the block.
+     * @param dst    The buffer into which to write the encoded bytes.
+     */
+    public void encode (byte[] data, int offset, int length, ByteBuffer dst) {
+
+	// Divide, a byte at a time, keeping the running remainder.
+	Arrays.fill(remainder, 0);
+	for (int i = offset; i < offset + length; i += 1) {
+	    int feedback = (data[i] ^ remainder[0]) & 0xff;
+	    for (int j = 0; j < PARITY_LENGTH - 1; j += 1) {
+		remainder[j] = remainder[j + 1] ^
+			       multiply(feedback, generator[j + 1]);
+	    }
+	    remainder[PARITY_LENGTH - 1] =
+		multiply(feedback, generator[PARITY_LENGTH]);
+	}
+
+	dst.put(data, offset, length);
+	for (int j = 0; j < PARITY_LENGTH; j += 1) {
+	    dst.put((byte)remainder[j]);
+	}
+
+    } // encode ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Decode a block, correcting up to half as many bytes as there are parity
+     * bytes.
+     *
+     * @param  in     The buffer holding the encoded block at its position.
+     * @param  data   The array into which to write the decoded block.
+     * @param  length The number of bytes in the decoded block.
+     * @return the number of bytes corrected, or <code>-1</code> if there were
+     *         too many to correct.
+     */
+    public int decode (ByteBuffer in, byte[] data, int length) {
+
+	// Copy out the received codeword.  Position i holds the coefficient
+	// of x^(n - 1 - i).
+	int n = length + PARITY_LENGTH;
+	if (received.length < n) {
+	    received = new int[n];
+	}
+	for (int i = 0; i < n; i += 1) {
+	    received[i] = in.get() & 0xff;
+	}
+
+	// Evaluate the codeword at each root of the generator.  If all are
+	// zero, the codeword is intact.
+	boolean intact = true;
+	for (int j = 0; j < PARITY_LENGTH; j += 1) {
+	    int s = 0;
+	    for (int i = 0; i < n; i += 1) {
+		s = multiply(s, EXP[j]) ^ received[i];
+	    }
+	    syndromes[j] = s;
+	    intact &= (s == 0);
+	}
+
+	int corrected = 0;
+	if (!intact) {
+	    corrected = correct(n);
+	}
+	if (corrected >= 0) {
+	    for (int i = 0; i < length; i += 1) {
+		data[i] = (byte)received[i];
+	    }
+	}
+
+	return corrected;
+
+    } // decode ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Locate and repair the errors in the received codeword, given its
+     * syndromes.
+     *
+     * @param  n The length of the codeword.
+     * @return the number of bytes corrected, or <code>-1</code> if there were
+     *         too many to correct.
+     */
+    private int correct (int n) {
+
+	// Berlekamp-Massey: find the shortest error locator, lambda(x), with
+	// lambda(0) = 1, lowest power first, that generates the syndromes.
+	Arrays.fill(locator, 0);
+	Arrays.fill(previous, 0);
+	locator[0]          = 1;
+	previous[0]         = 1;
+	int errors          = 0;
+	int shift           = 1;
+	int lastDiscrepancy = 1;
+	for (int k = 0; k < PARITY_LENGTH; k += 1) {
+
+	    int discrepancy = syndromes[k];
+	    for (int i = 1; i <= errors; i += 1) {
+		discrepancy ^= multiply(locator[i], syndromes[k - i]);
+	    }
+
+	    if (discrepancy == 0) {
+		shift += 1;
+	    } else {
+		int scale = divide(discrepancy, lastDiscrepancy);
+		System.arraycopy(locator, 0, scratch, 0, locator.length);
+		for (int i = 0; i + shift < locator.length; i += 1) {
+		    locator[i + shift] ^= multiply(scale, previous[i]);
+		}
+		if (2 * errors <= k) {
+		    errors = k + 1 - errors;
+		    System.arraycopy(scratch, 0, previous, 0, previous.length);
+		    lastDiscrepancy = discrepancy;
+		    shift = 1;
+		} else {
+		    shift += 1;
+		}
+	    }
+
+	}
+	if (errors > PARITY_LENGTH / 2) {
+	    return -1;
+	}
+
+	// The error evaluator: omega(x) = S(x) lambda(x) mod x^(2t).
+	Arrays.fill(evaluator, 0);
+	for (int i = 0; i < PARITY_LENGTH; i += 1) {
+	    for (int j = 0; j <= errors && j <= i; j += 1) {
+		evaluator[i] ^= multiply(syndromes[i - j], locator[j]);
+	    }
+	}
+
+	// Chien search: position i, with locator X = a^(n - 1 - i), is in
+	// error if lambda(X^-1) = 0.  Forney gives the error value there as
+	// X omega(X^-1) / lambda'(X^-1).
+	int found = 0;
+	for (int i = 0; i < n; i += 1) {
+
+	    int power   = n - 1 - i;
+	    int inverse = EXP[(255 - power) % 255];
+	    if (evaluate(locator, errors, inverse) != 0) {
+		continue;
+	    }
+
+	    int numerator   = multiply(EXP[power],
+				       evaluate(evaluator,
+						PARITY_LENGTH - 1,
+						inverse));
+	    int denominator = 0;
+	    for (int j = 1; j <= errors; j += 2) {
+		denominator ^= multiply(locator[j],
+					power(inverse, j - 1));
+	    }
+	    if (denominator == 0) {
+		return -1;
+	    }
+	    received[i] ^= divide(numerator, denominator);
+	    found += 1;
+
+	}
+
+	// Every root of the locator must be a position in the codeword.
+	return (found == errors) ? found : -1;
+
+    } // correct ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  polynomial The coefficients, lowest power first.
+     * @param  degree     The highest power to include.
+     * @param  x          The point at which to evaluate.
+     * @return the value of the polynomial at the point.
+     */
+    private static int evaluate (int[] polynomial, int degree, int x) {
+
+	int value = 0;
+	for (int i = degree; i >= 0; i -= 1) {
+	    value = multiply(value, x) ^ polynomial[i];
+	}
+
+	return value;
+
+    } // evaluate ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the product of two field elements.
+     */
+    private static int multiply (int a, int b) {
+
+	return (a == 0 || b == 0) ? 0 : EXP[LOG[a] + LOG[b]];
+
+    } // multiply ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the quotient of two field elements, the divisor being nonzero.
+     */
+    private static int divide (int a, int b) {
+
+	return (a == 0) ? 0 : EXP[LOG[a] + 255 - LOG[b]];
+
+    } // divide ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return a field element raised to a non-negative power.
+     */
+    private static int power (int a, int exponent) {
+
+	if (exponent == 0) {
+	    return 1;
+	}
+	return (a == 0) ? 0 : EXP[(LOG[a] * exponent) % 255];
+
+    } // power ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Build the table of powers of the primitive element, generated by the
+     * polynomial x^8 + x^4 + x^3 + x^2 + 1.  The table is doubled so that the
+     * sum of two logarithms may index it directly.
+     *
+     * @return the table.
+     */
+    private static int[] buildExpTable () {
+
+	int[] table = new int[512];
+	int   value = 1;
+	for (int i = 0; i < 255; i += 1) {
+	    table[i]       = value;
+	    table[i + 255] = value;
+	    value <<= 1;
+	    if (value > 0xff) {
+		value ^= 0x11d;
+	    }
+	}
+
+	return table;
+
+    } // buildExpTable ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Build the table of logarithms, the inverse of the table of powers.
+     *
+     * @return the table.
+     */
+    private static int[] buildLogTable () {
+
+	int[] table = new int[256];
+	for (int i = 0; i < 255; i += 1) {
+	    table[EXP[i]] = i;
+	}
+
+	return table;
+
+    } // buildLogTable ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The generator polynomial, highest power first. */
+    private final int[] generator;
+
+    /** The running remainder while encoding. */
+    private final int[] remainder;
+
+    /** The received codeword while decoding. */
+    private int[]       received  = new int[255];
+
+    /** The syndromes of the received codeword. */
+    private final int[] syndromes;
+
+    /** The error locator polynomial, lowest power first. */
+    private final int[] locator;
+
+    /** The locator before its last change in length. */
+    private final int[] previous;
+
+    /** Scratch space for the locator while it is updated. */
+    private final int[] scratch;
+
+    /** The error evaluator polynomial, lowest power first. */
+    private final int[] evaluator;
+
+    /** The powers of the primitive element. */
+    private static final int[] EXP = buildExpTable();
+
+    /** The logarithms of the nonzero field elements. */
+    private static final int[] LOG = buildLogTable();
+
+    /** The number of parity bytes per block. */
+    public static final int PARITY_LENGTH =
+	Integer.getInteger("reedSolomonParity", 8);
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class ReedSolomonErrorCorrector
+// =============================================================================
@@ -0,0 +1,168 @@
+// =============================================================================
+/**
+ * Estimates a link's round-trip time from measured samples, and from it sets
+ * how long a sender should wait for an acknowledgment before resending, as
+ * Jacobson and Karels did for TCP: the timeout is the smoothed round-trip
+ * time plus four times its smoothed mean deviation, doubled after each
+ * expiry, and kept within fixed bounds.  Until the first sample, the timeout
+ * is a conservative default.
+ *
+ * Only frames sent once should be sampled (Karn's rule): an acknowledgment
+ * of a resent frame may answer any of its copies.  Its arrival should
+ * instead <code>reset()</code> any backoff.
+ *
+ * Only the owning layer's thread may update the estimate; other threads may
+ * read it.
+ *
+ * @file   RoundTripEstimator.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class RoundTripEstimator {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Fold a round-trip sample into the smoothed estimate and its variation,
+     * and set the timeout from them, dropping any backoff.
+     *
+     * @param sample The measured round-trip time in nanoseconds.
+     */
+    public void measure (long sample) {
+
+	if (smoothedRoundTripTime == 0) {
+
+	    // The first sample sets the estimate outright.
+	    smoothedRoundTripTime = sample;
+	    roundTripVariation    = sample / 2;
+
+	} else {
+
+	    // Gains of 1/4 for the variation and 1/8 for the estimate.
+	    roundTripVariation    +=
+		(Math.abs(smoothedRoundTripTime - sample) -
+		 roundTripVariation) / 4;
+	    smoothedRoundTripTime += (sample - smoothedRoundTripTime) / 8;
+
+	}
+	reset();
+
+    } // measure ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Set the timeout from the estimate, dropping any backoff.
+     */
+    public void reset () {
+
+	if (smoothedRoundTripTime == 0) {
+	    timeout = INITIAL_TIMEOUT_NS;
+	} else {
+	    timeout = clamp(smoothedRoundTripTime + 4 * roundTripVariation);
+	}
+
+    } // reset ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Double the timeout after it expires, so that a slower link is not
+     * flooded with resends.
+     */
+    public void backOff () {
+
+	timeout = clamp(2 * timeout);
+
+    } // backOff ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the current retransmission timeout in nanoseconds.
+     */
+    public long getTimeout () {
+
+	return timeout;
+
+    } // getTimeout ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the smoothed round-trip time in nanoseconds, or zero if no round
+     *         trip has been measured yet.
+     */
+    public long getSmoothedRoundTripTime () {
+
+	return smoothedRoundTripTime;
+
+    } // getSmoothedRoundTripTime ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  timeout A timeout in nanoseconds.
+     * @return the timeout, kept within its bounds.
+     */
+    private static long clamp (long timeout) {
+
+	return Math.max(MIN_TIMEOUT_NS, Math.min(MAX_TIMEOUT_NS, timeout));
+
+    } // clamp ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The smoothed round-trip time, or zero before the first sample. */
+    private volatile long smoothedRoundTripTime;
+
+    /** The smoothed mean deviation of the round-trip time. */
+    private long          roundTripVariation;
+
+    /** How long to wait for an acknowledgment before resending. */
+    private volatile long timeout = INITIAL_TIMEOUT_NS;
+
+    /** The timeout used until the first round trip is measured. */
+    public static final long INITIAL_TIMEOUT_NS = 100L * 1000000L;
+
+    /** The shortest timeout, so that scheduling jitter is not taken for a
+     *  loss. */
+    public static final long MIN_TIMEOUT_NS     = 1000000L;
+
+    /** The longest timeout, however many times it backs off. */
+    public static final long MAX_TIMEOUT_NS     = 1000L * 1000000L;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class RoundTripEstimator
+// =============================================================================
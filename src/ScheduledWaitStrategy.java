@@ -0,0 +1,169 @@
+// =============================================================================
+/**
+ * Runs an event loop on a scheduler instead of a thread of its own.  Each
+ * iteration of the loop is an event; rather than blocking, an iteration
+ * schedules the next one: right away after work was done, at the deadline
+ * after none was, and right away again when signalled.  Redundant
+ * iterations are harmless, finding nothing to do, but an iteration already
+ * scheduled to run right away is not scheduled again, and one scheduled at a
+ * deadline since superseded is cancelled, so that it neither runs nor moves
+ * the clock.
+ *
+ * @file   ScheduledWaitStrategy.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class ScheduledWaitStrategy extends WaitStrategy {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Constructor.
+     *
+     * @param scheduler The scheduler on which to run the loop.
+     * @param iteration One iteration of the loop, which ends by calling
+     *                  <code>busy()</code> or <code>idle()</code>.
+     */
+    public ScheduledWaitStrategy (Scheduler scheduler, Runnable iteration) {
+
+	this.scheduler = scheduler;
+	this.iteration = iteration;
+	this.next      = this::iterate;
+	this.expiry    = this::expire;
+
+    } // ScheduledWaitStrategy ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Schedule the next iteration right away, since there may be more work,
+     * and note that work was done.
+     */
+    public void busy () {
+
+	scheduler.workDone();
+	signal();
+
+    } // busy ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Schedule the next iteration at the deadline, unless one is already
+     * scheduled then, cancelling any scheduled at an earlier deadline.
+     *
+     * @param deadline The virtual time by which the loop must run again, or
+     *                 <code>NO_DEADLINE</code>.
+     */
+    public void idle (long deadline) {
+
+	if (deadline == timerDeadline) {
+	    return;
+	}
+	if (timer != null) {
+	    timer.cancel();
+	    timer = null;
+	}
+	timerDeadline = deadline;
+	if (deadline != NO_DEADLINE) {
+	    timer = scheduler.schedule(deadline, expiry);
+	}
+
+    } // idle ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Schedule the next iteration right away, unless one already is.
+     */
+    public void signal () {
+
+	if (!pending) {
+	    pending = true;
+	    scheduler.schedule(scheduler.nanoTime(), next);
+	}
+
+    } // signal ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Run one iteration of the loop, as scheduled right away.
+     */
+    private void iterate () {
+
+	pending = false;
+	iteration.run();
+
+    } // iterate ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Run one iteration of the loop, as scheduled at a deadline.
+     */
+    private void expire () {
+
+	timer         = null;
+	timerDeadline = NO_DEADLINE;
+	iteration.run();
+
+    } // expire ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The scheduler on which the loop runs. */
+    private final Scheduler scheduler;
+
+    /** One iteration of the loop. */
+    private final Runnable  iteration;
+
+    /** The event that runs an iteration right away. */
+    private final Runnable  next;
+
+    /** The event that runs an iteration at a deadline. */
+    private final Runnable  expiry;
+
+    /** Whether an iteration is scheduled to run right away. */
+    private boolean         pending;
+
+    /** The iteration scheduled at a deadline, if any. */
+    private Scheduler.Event timer;
+
+    /** The deadline at which an iteration is scheduled. */
+    private long            timerDeadline = NO_DEADLINE;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class ScheduledWaitStrategy
+// =============================================================================
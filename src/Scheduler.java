@@ -0,0 +1,231 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.PriorityQueue;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A discrete-event simulation engine.  Actions are scheduled at points in
+ * virtual time, and run one at a time, in order of time, and among those at
+ * the same time, in the order scheduled.  The clock moves only from one
+ * event to the next, so a simulation takes as long as its events take to
+ * compute, whatever the span of virtual time it covers; and since nothing
+ * else decides the order of events, a simulation seeded alike runs alike.
+ * An event may be cancelled before it runs, in which case it is dropped
+ * without moving the clock.
+ *
+ * Everything that a scheduler drives runs on the thread that calls
+ * <code>run()</code>, and only that thread may schedule events.
+ *
+ * For example, to simulate a link on virtual time:
+ *
+ * <pre>
+ *   Scheduler scheduler = new Scheduler();
+ *   medium.setScheduler(scheduler);
+ *   sender.start(scheduler);
+ *   receiver.start(scheduler);
+ *   sender.send(data);
+ *   scheduler.run();
+ * </pre>
+ *
+ * @file   Scheduler.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class Scheduler extends Clock {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the virtual time of the event running, or of the last one run.
+     */
+    public long nanoTime () {
+
+	return now;
+
+    } // nanoTime ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the virtual time of the last event that reported doing work, or
+     *         zero if none has.
+     */
+    public long getWorkTime () {
+
+	return worked;
+
+    } // getWorkTime ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Note that the event running did work, as opposed to finding nothing to
+     * do, so that the span of a simulation can be told apart from any idle
+     * events after it.
+     */
+    public void workDone () {
+
+	worked = now;
+
+    } // workDone ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Schedule an action.
+     *
+     * @param  time   The virtual time at which to run it; if already past, the
+     *                action runs now, after those already scheduled to.
+     * @param  action The action.
+     * @return the event, by which it may be cancelled.
+     */
+    public Event schedule (long time, Runnable action) {
+
+	Event event = new Event(Math.max(time, now), scheduled, action);
+	events.add(event);
+	scheduled += 1;
+
+	return event;
+
+    } // schedule ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Run events until none remain.
+     *
+     * @return the number of events run.
+     */
+    public long run () {
+
+	return run(Long.MAX_VALUE);
+
+    } // run ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Run events until none remain at or before a time.  The clock is left at
+     * the last event run; cancelled events are dropped without moving it.
+     *
+     * @param  until The virtual time after which to stop.
+     * @return the number of events run.
+     */
+    public long run (long until) {
+
+	long count = 0;
+	while (!isIdle() && events.peek().time <= until) {
+	    Event event = events.poll();
+	    now         = event.time;
+	    event.action.run();
+	    count += 1;
+	}
+
+	return count;
+
+    } // run ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return whether any events remain to be run.
+     */
+    public boolean isIdle () {
+
+	// Drop any cancelled events that would run next.
+	while (!events.isEmpty() && events.peek().cancelled) {
+	    events.poll();
+	}
+
+	return events.isEmpty();
+
+    } // isIdle ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // LOCAL CLASSES
+
+    /** An action scheduled at a point in virtual time. */
+    public static class Event implements Comparable<Event> {
+
+	Event (long time, long order, Runnable action) {
+	    this.time   = time;
+	    this.order  = order;
+	    this.action = action;
+	}
+
+	/** Keep the action from running, if it has not already. */
+	public void cancel () {
+	    cancelled = true;
+	}
+
+	public int compareTo (Event other) {
+	    return (time != other.time)
+		? Long.compare(time, other.time)
+		: Long.compare(order, other.order);
+	}
+
+	/** When to run the action. */
+	final long     time;
+
+	/** The number of events scheduled before this one, to break ties. */
+	final long     order;
+
+	/** What to run. */
+	final Runnable action;
+
+	/** Whether the action is not to be run after all. */
+	boolean        cancelled;
+
+    } // class Event
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The events yet to be run, soonest first. */
+    private final PriorityQueue<Event> events = new PriorityQueue<Event>();
+
+    /** The virtual time, in nanoseconds from the start of the simulation. */
+    private long                       now;
+
+    /** The number of events ever scheduled. */
+    private long                       scheduled;
+
+    /** The virtual time of the last event that did work. */
+    private long                       worked;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class Scheduler
+// =============================================================================
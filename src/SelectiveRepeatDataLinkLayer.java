@@ -0,0 +1,666 @@
+// =============================================================================
+// IMPORTS
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A data link layer that frames data with the layer's framer, detects errors
+ * with its error detector's check, and performs flow control with Selective
+ * Repeat.  Up to a window's worth of frames may be outstanding at once, each
+ * with its own timer, and each acknowledged individually, so that
+ * only frames that are lost or damaged are resent.  The receiver holds frames
+ * that arrive out of order in a reorder buffer of one window, and delivers
+ * them to its client in order.  The timers' interval adapts to the round trips
+ * measured from acknowledgments, as <code>RoundTripEstimator</code> sets it.
+ *
+ * The body of every frame begins with a header byte whose high bit tells an
+ * acknowledgment from data, and whose low bits hold the sequence number.  It
+ * ends with the check of everything before it.
+ *
+ * The number of sequence number bits is set by the <code>sequenceBits</code>
+ * system property (1 to 7, by default 3), and the window size by the
+ * <code>windowSize</code> system property (by default, and at most, half the
+ * number of sequence numbers).
+ *
+ * @file   SelectiveRepeatDataLinkLayer.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class SelectiveRepeatDataLinkLayer extends DataLinkLayer
+    implements FrameCodec {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Default constructor.  Check the configured window against the sequence
+     * number space, and make room for the outstanding and reordered frames.
+     *
+     * @throws RuntimeException if the sequence number bits or the window size
+     *                          are out of range.
+     */
+    public SelectiveRepeatDataLinkLayer () {
+
+	if (SEQUENCE_BITS < 1 || SEQUENCE_BITS > 7) {
+	    throw new RuntimeException("Sequence bits must be 1 to 7, not " +
+				       SEQUENCE_BITS);
+	}
+	sequenceMask = (1 << SEQUENCE_BITS) - 1;
+
+	// A window of more than half the sequence numbers would let a resent
+	// frame be mistaken for a new one.
+	int sequenceCount = sequenceMask + 1;
+	if (WINDOW_SIZE < 1 || WINDOW_SIZE > sequenceCount / 2) {
+	    throw new RuntimeException("Window size must be 1 to " +
+				       (sequenceCount / 2) + ", not " +
+				       WINDOW_SIZE);
+	}
+
+	// Keep the sender's and receiver's state for each frame, by sequence
+	// number.
+	outstanding      = new ByteBuffer[sequenceCount];
+	acknowledged     = new boolean[sequenceCount];
+	deadlines        = new long[sequenceCount];
+	sentAt           = new long[sequenceCount];
+	resent           = new boolean[sequenceCount];
+	reordered        = new byte[sequenceCount][MAX_FRAME_SIZE];
+	reorderedLengths = new int[sequenceCount];
+	arrived          = new boolean[sequenceCount];
+	for (int i = 0; i < sequenceCount; i += 1) {
+	    outstanding[i] =
+		ByteBuffer.allocate(maxEncodedLength(MAX_FRAME_SIZE));
+	}
+
+    } // SelectiveRepeatDataLinkLayer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the maximum number of frames that may await acknowledgment.
+     */
+    public int getWindowSize () {
+
+	return WINDOW_SIZE;
+
+    } // getWindowSize ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the current retransmission timeout in nanoseconds.
+     */
+    public long getTimeout () {
+
+	return roundTrip.getTimeout();
+
+    } // getTimeout ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of frames resent after their timers expired.
+     */
+    public long getFramesResent () {
+
+	return framesResent;
+
+    } // getFramesResent ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of frames delivered to the client.
+     */
+    public long getFramesDelivered () {
+
+	return framesDelivered;
+
+    } // getFramesDelivered ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Embed a raw sequence of bytes into a framed sequence.
+     *
+     * @param  data The raw sequence of bytes to be framed.
+     * @return A complete frame.
+     */
+    protected Queue<Byte> createFrame (Queue<Byte> data) {
+
+	return encodeFrame(data);
+
+    } // createFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Embed a raw sequence of bytes into a data frame carrying the next
+     * sequence number.
+     *
+     * @param src The raw data to be framed.
+     * @param dst The buffer into which to write the frame.
+     */
+    public void encode (ByteBuffer src, ByteBuffer dst) {
+
+	body.clear();
+	body.put((byte)(DATA_KIND | nextSequence));
+	body.put(src);
+	encodeBody(dst);
+
+    } // encode ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  dataLength The number of raw data bytes to be framed.
+     * @return the largest number of bytes a frame of that much data, plus its
+     *         header and check, may take.
+     */
+    public int maxEncodedLength (int dataLength) {
+
+	return framer.maxEncodedLength(dataLength + 1 + errorDetector.length());
+
+    } // maxEncodedLength ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Determine whether the received, buffered data constitutes a complete
+     * frame.  If so, then remove the framing metadata and return the original
+     * data.
+     *
+     * @return If the buffer contains a complete frame, the extracted, original
+     * data; <code>null</code> otherwise.
+     */
+    protected Queue<Byte> processFrame () {
+
+	FrameView frame = decodeFrame();
+	return (frame == null) ? null : frame.toQueue();
+
+    } // processFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Determine whether the received data constitutes a complete frame.  If
+     * so, then consume it, remove the framing metadata, and verify its check.
+     *
+     * @param  in The received bytes, starting at the oldest.
+     * @return If the input contains a complete, intact frame, its header byte
+     *         followed by any data; <code>null</code> otherwise.
+     */
+    public FrameView decode (ByteBuffer in) {
+
+	// Extract the body of the next complete frame, if any.
+	FrameView frame = framer.decode(in);
+	if (frame == null) {
+	    return null;
+	}
+
+	// Every frame holds at least a header and a check, the last of which
+	// must match a recalculation.
+	int covered = frame.length() - errorDetector.length();
+	if (covered < 1 || !errorDetector.verify(frame)) {
+	    LOGGER.warning(() -> "RECEIVER: Damaged frame");
+	    metrics.countChecksumFailure();
+	    return null;
+	}
+
+	return frame.set(frame.array(), frame.offset(), covered);
+
+    } // decode ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Only send a new frame while the window has room for it.
+     *
+     * @return the encoded frame transmitted; <code>null</code> if nothing was
+     *         sent.
+     */
+    @Override
+    protected ByteBuffer sendNextEncodedFrame () {
+
+	if (inFlight == WINDOW_SIZE) {
+	    return null;
+	}
+
+	return super.sendNextEncodedFrame();
+
+    } // sendNextEncodedFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Only send a new frame while the window has room for it.
+     *
+     * @return the frame of bytes transmitted.
+     */
+    @Override
+    protected Queue<Byte> sendNextFrame () {
+
+	if (inFlight == WINDOW_SIZE) {
+	    return null;
+	}
+
+	return super.sendNextFrame();
+
+    } // sendNextFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * After sending a frame, do any bookkeeping (e.g., buffer the frame in case
+     * a resend is required).
+     *
+     * @param frame The framed data that was transmitted.
+     */
+    protected void finishFrameSend (Queue<Byte> frame) {
+
+	FrameView encoded = FrameView.copyOf(frame);
+	finishFrameSend(ByteBuffer.wrap(encoded.array(),
+					encoded.offset(),
+					encoded.length()));
+
+    } // finishFrameSend ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * After sending a new frame, keep a copy of it in case it must be resent,
+     * note when it was sent, start its timer, and advance the sequence
+     * number.
+     *
+     * @param frame The encoded frame that was transmitted.
+     */
+    public void finishFrameSend (ByteBuffer frame) {
+
+	ByteBuffer copy = outstanding[nextSequence];
+	if (copy.capacity() < frame.remaining()) {
+	    copy = ByteBuffer.allocate(frame.remaining());
+	    outstanding[nextSequence] = copy;
+	}
+	copy.clear();
+	copy.put(frame.array(),
+		 frame.arrayOffset() + frame.position(),
+		 frame.remaining());
+	copy.flip();
+
+	long now = clock.nanoTime();
+	acknowledged[nextSequence] = false;
+	resent[nextSequence]       = false;
+	sentAt[nextSequence]       = now;
+	deadlines[nextSequence]    = now + roundTrip.getTimeout();
+	nextSequence = (nextSequence + 1) & sequenceMask;
+	inFlight += 1;
+
+    } // finishFrameSend ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * After receiving a frame, do any bookkeeping (e.g., deliver the frame to
+     * the client, if appropriate) and responding (e.g., send an
+     * acknowledgment).
+     *
+     * @param frame The frame of bytes received.
+     */
+    protected void finishFrameReceive (Queue<Byte> frame) {
+
+	finishFrameReceive(FrameView.copyOf(frame));
+
+    } // finishFrameReceive ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * After receiving an acknowledgment, mark its frame as acknowledged and
+     * slide the window past every acknowledged frame at its start.  After
+     * receiving data, acknowledge it, hold it in the reorder buffer, and
+     * deliver every frame now in order.
+     *
+     * @param frame The header byte followed by any data extracted from the
+     *              frame.
+     */
+    public void finishFrameReceive (FrameView frame) {
+
+	int header   = frame.get(0) & 0xff;
+	int sequence = header & sequenceMask;
+
+	if ((header & KIND_MASK) == ACK_KIND) {
+	    receiveAcknowledgment(sequence);
+	} else {
+	    receiveData(sequence, frame);
+	}
+
+    } // finishFrameReceive ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Resend each outstanding frame whose timer has expired, backing the
+     * timers off once however many have.
+     */
+    protected void checkTimeout () {
+
+	if (inFlight == 0) {
+	    return;
+	}
+
+	long    now       = clock.nanoTime();
+	boolean backedOff = false;
+	for (int i = 0; i < inFlight; i += 1) {
+	    int sequence = (base + i) & sequenceMask;
+	    if (!acknowledged[sequence] && now - deadlines[sequence] >= 0) {
+		if (!backedOff) {
+		    roundTrip.backOff();
+		    backedOff = true;
+		}
+		transmit(outstanding[sequence]);
+		resent[sequence]    = true;
+		deadlines[sequence] = now + roundTrip.getTimeout();
+		framesResent += 1;
+		metrics.countTimeout();
+		metrics.countRetransmission();
+	    }
+	}
+
+    } // checkTimeout ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Report when the earliest frame timer expires, so that an idle event loop
+     * wakes up in time to resend.
+     *
+     * @return the <code>clock.nanoTime()</code> value at which the next
+     *         timeout is due, or <code>WaitStrategy.NO_DEADLINE</code> if no
+     *         frame awaits acknowledgment.
+     */
+    @Override
+    protected long nextDeadline () {
+
+	long    earliest = WaitStrategy.NO_DEADLINE;
+	boolean pending  = false;
+	for (int i = 0; i < inFlight; i += 1) {
+	    int sequence = (base + i) & sequenceMask;
+	    if (!acknowledged[sequence] &&
+		(!pending || deadlines[sequence] - earliest < 0)) {
+		earliest = deadlines[sequence];
+		pending  = true;
+	    }
+	}
+
+	return earliest;
+
+    } // nextDeadline ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Mark an outstanding frame as acknowledged, timing its round trip unless
+     * it was resent, then slide the window past every acknowledged frame at
+     * its start.  Acknowledgments of frames not outstanding are duplicates,
+     * and are ignored.
+     *
+     * @param sequence The sequence number of the acknowledged frame.
+     */
+    private void receiveAcknowledgment (int sequence) {
+
+	if (((sequence - base) & sequenceMask) >= inFlight ||
+	    acknowledged[sequence]) {
+	    return;
+	}
+	acknowledged[sequence] = true;
+
+	// An acknowledgment of a resent frame may answer either copy.
+	if (resent[sequence]) {
+	    roundTrip.reset();
+	} else {
+	    roundTrip.measure(clock.nanoTime() - sentAt[sequence]);
+	}
+
+	while (inFlight > 0 && acknowledged[base]) {
+	    base      = (base + 1) & sequenceMask;
+	    inFlight -= 1;
+	}
+
+    } // receiveAcknowledgment ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Acknowledge a data frame.  If it falls within the receive window, hold
+     * it until every frame before it has arrived, delivering all the frames
+     * that are then in order.
+     *
+     * @param sequence The sequence number of the frame.
+     * @param frame    The header byte followed by the data.
+     */
+    private void receiveData (int sequence, FrameView frame) {
+
+	int offset = (sequence - expectedSequence) & sequenceMask;
+	if (offset >= WINDOW_SIZE) {
+
+	    // A frame from the window before this one was already delivered,
+	    // but its acknowledgment may have been lost, so acknowledge it
+	    // again.  Anything else cannot be legitimate.
+	    if (offset >= sequenceMask + 1 - WINDOW_SIZE) {
+		sendAcknowledgment(sequence);
+		metrics.countDuplicateDiscarded();
+	    }
+	    return;
+
+	}
+	sendAcknowledgment(sequence);
+
+	// Hold the data, unless a copy of this frame is already held.
+	if (!arrived[sequence]) {
+	    int length = frame.length() - 1;
+	    if (reordered[sequence].length < length) {
+		reordered[sequence] = new byte[length];
+	    }
+	    System.arraycopy(frame.array(), frame.offset() + 1,
+			     reordered[sequence], 0,
+			     length);
+	    reorderedLengths[sequence] = length;
+	    arrived[sequence]          = true;
+	} else {
+	    metrics.countDuplicateDiscarded();
+	}
+
+	// Deliver every frame now in order.
+	while (arrived[expectedSequence]) {
+	    deliver(reordered[expectedSequence],
+		    0,
+		    reorderedLengths[expectedSequence]);
+	    arrived[expectedSequence] = false;
+	    expectedSequence = (expectedSequence + 1) & sequenceMask;
+	    framesDelivered += 1;
+	}
+
+    } // receiveData ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Acknowledge a single data frame.
+     *
+     * @param sequence The sequence number of the frame.
+     */
+    private void sendAcknowledgment (int sequence) {
+
+	body.clear();
+	body.put((byte)(ACK_KIND | sequence));
+	acknowledgmentFrame.clear();
+	encodeBody(acknowledgmentFrame);
+	acknowledgmentFrame.flip();
+	transmit(acknowledgmentFrame);
+
+    } // sendAcknowledgment ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Append the check to the body under construction, and frame the whole.
+     *
+     * @param dst The buffer into which to write the frame.
+     */
+    private void encodeBody (ByteBuffer dst) {
+
+	errorDetector.append(body);
+	body.flip();
+	framer.encode(body, dst);
+
+    } // encodeBody ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** Scratch space for the body of the next frame to be encoded. */
+    private final ByteBuffer body = ByteBuffer.allocate(MAX_FRAME_SIZE + 1 +
+							 ErrorDetector.MAX_LENGTH);
+
+    /** Scratch space for each acknowledgment frame. */
+    private final ByteBuffer acknowledgmentFrame =
+	ByteBuffer.allocate(framer.maxEncodedLength(1 +
+						    ErrorDetector.MAX_LENGTH));
+
+    /** The mask that reduces a number to a sequence number. */
+    private final int sequenceMask;
+
+    /** A copy of each outstanding frame, indexed by its sequence number. */
+    private final ByteBuffer[] outstanding;
+
+    /** Whether each outstanding frame has been acknowledged. */
+    private final boolean[] acknowledged;
+
+    /** When each outstanding frame should be resent, in nanoseconds. */
+    private final long[] deadlines;
+
+    /** When each outstanding frame was first sent, in nanoseconds. */
+    private final long[] sentAt;
+
+    /** Whether each outstanding frame has been resent. */
+    private final boolean[] resent;
+
+    /** The estimate of the round trip, and the timeout set from it. */
+    private final RoundTripEstimator roundTrip = new RoundTripEstimator();
+
+    /** The sequence number of the oldest unacknowledged frame. */
+    private int base;
+
+    /** The sequence number of the next new frame to send. */
+    private int nextSequence;
+
+    /** The number of frames from the oldest unacknowledged one on. */
+    private int inFlight;
+
+    /** The data of each frame held for in-order delivery. */
+    private final byte[][] reordered;
+
+    /** The number of data bytes in each held frame. */
+    private final int[] reorderedLengths;
+
+    /** Whether each frame in the receive window has arrived. */
+    private final boolean[] arrived;
+
+    /** The sequence number of the next frame to deliver. */
+    private int expectedSequence;
+
+    /** The number of frames resent after their timers expired. */
+    private volatile long framesResent;
+
+    /** The number of frames delivered to the client. */
+    private volatile long framesDelivered;
+
+    /** Where to report damaged frames. */
+    private static final LinkLogger LOGGER =
+	LinkLogger.getLogger(SelectiveRepeatDataLinkLayer.class);
+
+    /** The header bit that tells an acknowledgment from data. */
+    private static final int KIND_MASK = 0x80;
+
+    /** The header kind of a data frame. */
+    private static final int DATA_KIND = 0x00;
+
+    /** The header kind of an acknowledgment frame. */
+    private static final int ACK_KIND  = 0x80;
+
+    /** The number of bits in a sequence number. */
+    public static final int SEQUENCE_BITS =
+	Integer.getInteger("sequenceBits", 3);
+
+    /** The maximum number of frames that may await acknowledgment. */
+    public static final int WINDOW_SIZE =
+	Integer.getInteger("windowSize", 1 << (SEQUENCE_BITS - 1));
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class SelectiveRepeatDataLinkLayer
+// =============================================================================
@@ -0,0 +1,529 @@
+// =============================================================================
+// IMPORTS
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * The bounded buffer of bytes that a data link layer has been given to send
+ * but has not yet framed.  Clients add bytes from their own threads, and the
+ * layer's event loop removes them.
+ *
+ * The buffer holds at most its high watermark of bytes.  Once it fills, it
+ * takes no more until the event loop has drained it to its low watermark, so
+ * that a sender held back resumes with room for a good batch rather than a
+ * byte at a time.  What <code>add()</code> does while the buffer is full is
+ * set by its policy:
+ *
+ * <ul>
+ *   <li><code>Block</code> waits for room, returning once all of the data is
+ *       buffered.</li>
+ *   <li><code>Fail</code> throws at once, buffering none of the data, unless
+ *       all of it fits.</li>
+ *   <li><code>Future</code> returns at once, with a future that completes
+ *       once all of the data is buffered; until then, the buffer holds on to
+ *       the caller's array, which must not be changed.</li>
+ * </ul>
+ *
+ * However large the transfer, then, the memory buffered stays within the high
+ * watermark.  The bytes are held as a queue of segments, each copied whole
+ * from the caller, and removed in slices, so that neither adding nor removing
+ * handles bytes one at a time, and the count of bytes is kept as they go.
+ * Blocked threads wait on a lock's condition rather than a monitor, so that a
+ * blocked virtual thread frees its carrier.
+ *
+ * Bytes added with <code>addReference()</code> are not copied at all: the
+ * caller's buffer becomes a segment itself, whatever its size and the policy,
+ * and frames are taken straight from it.  It costs the buffer no memory, but
+ * it counts toward the watermarks, so copied data added after it waits for it
+ * to drain.  The caller lends the bytes until the returned future completes.
+ *
+ * @file   SendBuffer.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class SendBuffer {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create a buffer with the configured watermarks and policy.
+     *
+     * @param onData Called after bytes are added, to let the event loop know
+     *               that there is data to frame.
+     */
+    public SendBuffer (Runnable onData) {
+
+	this(HIGH_WATERMARK, LOW_WATERMARK, POLICY, onData);
+
+    } // SendBuffer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create a buffer.
+     *
+     * @param highWatermark The most bytes the buffer holds.
+     * @param lowWatermark  The number of bytes to which a full buffer must
+     *                      drain before taking more.
+     * @param policy        What to do when the buffer is full.
+     * @param onData        Called after bytes are added, to let the event
+     *                      loop know that there is data to frame.
+     * @throws RuntimeException if the watermarks are out of order.
+     */
+    public SendBuffer (int      highWatermark,
+		       int      lowWatermark,
+		       Policy   policy,
+		       Runnable onData) {
+
+	if (highWatermark < 1 || lowWatermark < 0 ||
+	    lowWatermark >= highWatermark) {
+	    throw new RuntimeException("Send buffer watermarks of " +
+				       lowWatermark + " and " + highWatermark +
+				       " bytes are out of order");
+	}
+
+	this.highWatermark = highWatermark;
+	this.lowWatermark  = lowWatermark;
+	this.policy        = policy;
+	this.onData        = onData;
+
+    } // SendBuffer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Change what <code>add()</code> does when the buffer is full.  Should be
+     * called before any data is added.
+     *
+     * @param policy The new policy.
+     */
+    public void setPolicy (Policy policy) {
+
+	this.policy = policy;
+
+    } // setPolicy ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Add bytes to the end of the buffer, as the policy directs if they do not
+     * all fit.  Bytes added by different threads at once may interleave.
+     *
+     * @param  data The bytes to add.
+     * @return a future that completes once all of the bytes are buffered;
+     *         already complete unless the policy is <code>Future</code>.
+     * @throws IllegalStateException if the policy is <code>Fail</code> and the
+     *                               bytes do not all fit.
+     */
+    public CompletableFuture<Void> add (byte[] data) {
+
+	CompletableFuture<Void> future = new CompletableFuture<Void>();
+	ByteBuffer              source = ByteBuffer.wrap(data);
+	lock.lock();
+	try {
+
+	    switch (policy) {
+
+	    case BLOCK:
+		while (source.hasRemaining()) {
+		    while (!open) {
+			onData.run();
+			hasRoom.awaitUninterruptibly();
+		    }
+		    admit(source);
+		}
+		future.complete(null);
+		break;
+
+	    case FAIL:
+		if (!open || size + data.length > highWatermark) {
+		    throw new IllegalStateException("Send buffer full: " +
+						    size + " of " +
+						    highWatermark +
+						    " bytes buffered");
+		}
+		admit(source);
+		future.complete(null);
+		break;
+
+	    case FUTURE:
+		waiting.add(new Waiting(source, future, false));
+		admitWaiting();
+		break;
+
+	    }
+
+	} finally {
+	    lock.unlock();
+	}
+	onData.run();
+
+	return future;
+
+    } // add ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Add the bytes of a buffer to the end of this one without copying them.
+     * The bytes from the buffer's position to its limit are read later,
+     * through a read-only view, as frames are taken; the buffer's own
+     * position and limit are left alone.  The caller must not change those
+     * bytes until the returned future completes.
+     *
+     * @param  data The buffer whose bytes to add.
+     * @return a future that completes once the last of the bytes has been
+     *         taken, and the caller may reuse the buffer.  It completes on the
+     *         thread that takes them, so actions that depend on it should be
+     *         brief.
+     */
+    public CompletableFuture<Void> addReference (ByteBuffer data) {
+
+	CompletableFuture<Void> future = new CompletableFuture<Void>();
+	if (!data.hasRemaining()) {
+	    future.complete(null);
+	    return future;
+	}
+
+	ByteBuffer view = data.asReadOnlyBuffer();
+	lock.lock();
+	try {
+
+	    // Stay behind any copied data still waiting to be buffered.
+	    if (waiting.isEmpty()) {
+		lend(view, future);
+	    } else {
+		waiting.add(new Waiting(view, future, true));
+	    }
+
+	} finally {
+	    lock.unlock();
+	}
+	onData.run();
+
+	return future;
+
+    } // addReference ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return whether no bytes are buffered.
+     */
+    public boolean isEmpty () {
+
+	return size == 0;
+
+    } // isEmpty ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of bytes buffered, including those lent.
+     */
+    public long size () {
+
+	return size;
+
+    } // size ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Remove up to a given number of the oldest buffered bytes, copying them
+     * out, and make room for more if the buffer has drained to its low
+     * watermark.  Lent buffers whose last bytes are taken are returned to
+     * their owners.  Only the event loop may take bytes.
+     *
+     * @param  destination The array into which to copy the bytes.
+     * @param  offset      The position in the array of the first byte.
+     * @param  length      The most bytes to remove.
+     * @return the number of bytes removed, which is zero if none are
+     *         buffered.
+     */
+    public int take (byte[] destination, int offset, int length) {
+
+	int taken = 0;
+	lock.lock();
+	try {
+
+	    // Copy from the oldest segments, finishing each in turn.
+	    while (taken < length && !segments.isEmpty()) {
+		Segment segment = segments.peek();
+		int     count   = Math.min(length - taken,
+					   segment.bytes.remaining());
+		segment.bytes.get(destination, offset + taken, count);
+		taken += count;
+		if (!segment.bytes.hasRemaining()) {
+		    segments.remove();
+		    if (segment.owner != null) {
+			returned.add(segment.owner);
+		    }
+		}
+	    }
+	    size -= taken;
+
+	    // Reopen a full buffer once it has drained far enough.
+	    if (!open && size <= lowWatermark) {
+		open = true;
+		admitWaiting();
+		hasRoom.signalAll();
+	    }
+
+	} finally {
+	    lock.unlock();
+	}
+
+	// Return lent buffers outside the lock, in case their owners act on
+	// it by sending more.
+	CompletableFuture<Void> owner = null;
+	while ((owner = returned.poll()) != null) {
+	    owner.complete(null);
+	}
+
+	return taken;
+
+    } // take ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Buffer as many of the given bytes as fit, copied into one segment,
+     * closing the buffer if that fills it.  The lock must be held.
+     *
+     * @param data The bytes to add, from its position, which is advanced past
+     *             those added.
+     */
+    private void admit (ByteBuffer data) {
+
+	int count = (int)Math.min(data.remaining(),
+				  Math.max(0, highWatermark - size));
+	if (count > 0) {
+	    byte[] copy = new byte[count];
+	    data.get(copy);
+	    segments.add(new Segment(ByteBuffer.wrap(copy), null));
+	    size += count;
+	}
+	if (size >= highWatermark) {
+	    open = false;
+	}
+
+    } // admit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Buffer lent bytes whole, as a segment of their own, closing the buffer
+     * if that fills it.  The lock must be held.
+     *
+     * @param data  The read-only view of the lent bytes, not empty.
+     * @param owner Completed once the last of the bytes is taken.
+     */
+    private void lend (ByteBuffer data, CompletableFuture<Void> owner) {
+
+	segments.add(new Segment(data, owner));
+	size += data.remaining();
+	if (size >= highWatermark) {
+	    open = false;
+	}
+
+    } // lend ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Buffer the data of waiting adds, oldest first: copied data for as long
+     * as the buffer is open, completing the future of each add that is then
+     * wholly buffered, and lent data whenever it reaches the front.  The lock
+     * must be held.
+     */
+    private void admitWaiting () {
+
+	Waiting next = null;
+	while ((next = waiting.peek()) != null && (open || next.lent)) {
+	    if (next.lent) {
+		waiting.remove();
+		lend(next.data, next.future);
+	    } else {
+		admit(next.data);
+		if (!next.data.hasRemaining()) {
+		    waiting.remove();
+		    next.future.complete(null);
+		}
+	    }
+	}
+
+    } // admitWaiting ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // LOCAL CLASSES
+
+    /** What <code>add()</code> does when the buffer is full. */
+    public enum Policy {
+
+	/** Wait for room. */
+	BLOCK,
+
+	/** Throw, buffering none of the data. */
+	FAIL,
+
+	/** Return a future that completes once the data is buffered. */
+	FUTURE
+
+    } // enum Policy
+
+    /** Buffered bytes, either copied or lent. */
+    private static class Segment {
+
+	Segment (ByteBuffer bytes, CompletableFuture<Void> owner) {
+	    this.bytes = bytes;
+	    this.owner = owner;
+	}
+
+	/** The bytes not yet taken, from the position to the limit. */
+	final ByteBuffer              bytes;
+
+	/** For lent bytes, completed once all are taken; otherwise
+	 *  <code>null</code>. */
+	final CompletableFuture<Void> owner;
+
+    } // class Segment
+
+    /** The data of an add not yet wholly buffered. */
+    private static class Waiting {
+
+	Waiting (ByteBuffer data, CompletableFuture<Void> future, boolean lent) {
+	    this.data   = data;
+	    this.future = future;
+	    this.lent   = lent;
+	}
+
+	/** The bytes not yet buffered, from the position to the limit. */
+	final ByteBuffer              data;
+
+	/** Completed once the bytes are buffered, or if lent, taken. */
+	final CompletableFuture<Void> future;
+
+	/** Whether the bytes are lent rather than to be copied. */
+	final boolean                 lent;
+
+    } // class Waiting
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The buffered bytes, in segments, oldest first. */
+    private final Queue<Segment>    segments = new ArrayDeque<Segment>();
+
+    /** The adds yet to be buffered, oldest first. */
+    private final Queue<Waiting>    waiting  = new ArrayDeque<Waiting>();
+
+    /** The owners of lent buffers just taken, to be told once the lock is
+     *  released; used only by the event loop. */
+    private final Queue<CompletableFuture<Void>> returned =
+	new ArrayDeque<CompletableFuture<Void>>();
+
+    /** Guards the buffer. */
+    private final ReentrantLock     lock     = new ReentrantLock();
+
+    /** Signalled when a full buffer has drained to its low watermark. */
+    private final Condition         hasRoom  = lock.newCondition();
+
+    /** The most bytes the buffer holds. */
+    private final int               highWatermark;
+
+    /** The number of bytes to which a full buffer must drain to reopen. */
+    private final int               lowWatermark;
+
+    /** Called after bytes are added. */
+    private final Runnable          onData;
+
+    /** What to do when the buffer is full. */
+    private volatile Policy         policy;
+
+    /** Whether the buffer takes more bytes, having not filled since last
+     *  draining to its low watermark. */
+    private boolean                 open     = true;
+
+    /** The number of bytes buffered, readable without the lock. */
+    private volatile long           size;
+
+    /**
+     * The most bytes a buffer holds, as set by the
+     * <code>sendBufferSize</code> system property (by default 64 KB).
+     */
+    public static final int         HIGH_WATERMARK =
+	Integer.getInteger("sendBufferSize", 64 * 1024);
+
+    /**
+     * The number of bytes to which a full buffer must drain before taking
+     * more, as set by the <code>sendBufferLowWatermark</code> system property
+     * (by default half the high watermark).
+     */
+    public static final int         LOW_WATERMARK =
+	Integer.getInteger("sendBufferLowWatermark", HIGH_WATERMARK / 2);
+
+    /**
+     * What buffers do when full: <code>Block</code>, <code>Fail</code>, or
+     * <code>Future</code>, as set by the <code>sendPolicy</code> system
+     * property (by default <code>Block</code>).
+     */
+    public static final Policy      POLICY =
+	Policy.valueOf(System.getProperty("sendPolicy", "Block")
+		       .toUpperCase());
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class SendBuffer
+// =============================================================================
@@ -117,17 +117,31 @@ public class Simulator {
      */
     private static void simulate (Host sender, Host receiver, byte[] data) {
 
-        // Create the hosts as independent threads to perform communications.
-        new Thread(receiver).start();
-        new Thread(sender).start();
+	if (VIRTUAL_TIME) {
 
-        // Provide the data to send to the sender.
-	sender.send(data);
+	    // Run the hosts as events, until there is nothing left to do.
+	    Scheduler scheduler = new Scheduler();
+	    receiver.start(scheduler);
+	    sender.start(scheduler);
+	    sender.send(data);
+	    report(scheduler, scheduler.run());
 
-        System.out.printf("Press enter to receive: ");
-        try {
-            System.in.read();
-        } catch (IOException e) {}
+	} else {
+
+	    // Start the hosts on threads of their own to perform
+	    // communications.
+	    receiver.start();
+	    sender.start();
+
+	    // Provide the data to send to the sender.
+	    sender.send(data);
+
+	    System.out.printf("Press enter to receive: ");
+	    try {
+		System.in.read();
+	    } catch (IOException e) {}
+
+	}
 	byte[] received = receiver.retrieve();
 
 	System.out.println("Transmission received:  " + new String(received));
@@ -148,6 +162,42 @@ public class Simulator {
 
 
 
+    // =========================================================================
+    /**
+     * Report how much virtual time a simulation covered, up to the last
+     * event that did work.
+     *
+     * @param scheduler The scheduler that ran the simulation.
+     * @param events    The number of events run.
+     */
+    static void report (Scheduler scheduler, long events) {
+
+	System.out.printf("Simulated %.6f s in %d events\n",
+			  scheduler.getWorkTime() / 1e9,
+			  events);
+
+    } // report ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /**
+     * Whether to simulate in virtual time, on a scheduler, rather than on a
+     * thread per host in real time: set by the <code>clock</code> system
+     * property being <code>virtual</code>.  In virtual time, the simulation
+     * runs until the hosts have nothing left to do, as fast as it can be
+     * computed, and a seeded medium (see <code>Medium.SEED</code>) makes it
+     * exactly repeatable.
+     */
+    public static final boolean VIRTUAL_TIME =
+	"virtual".equals(System.getProperty("clock"));
+    // =========================================================================
+
+
+
 // =============================================================================
 } // class Simulator
 // =============================================================================
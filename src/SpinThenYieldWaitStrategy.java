@@ -0,0 +1,71 @@
+// =============================================================================
+/**
+ * A wait strategy that spins for a while after the last useful iteration,
+ * then yields the processor on every idle iteration until work arrives.
+ *
+ * @file   SpinThenYieldWaitStrategy.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class SpinThenYieldWaitStrategy extends WaitStrategy {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Restart the spinning phase.
+     */
+    public void busy () {
+
+	idleIterations = 0;
+
+    } // busy ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Spin for the first idle iterations, and yield thereafter.
+     *
+     * @param deadline Ignored; the loop never sleeps past it.
+     */
+    public void idle (long deadline) {
+
+	if (idleIterations < SPIN_ITERATIONS) {
+	    idleIterations += 1;
+	    Thread.onSpinWait();
+	} else {
+	    Thread.yield();
+	}
+
+    } // idle ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Nothing to do; the loop never blocks.
+     */
+    public void signal () {}
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The number of consecutive idle iterations so far. */
+    private int idleIterations;
+
+    /** The number of idle iterations to spin before yielding. */
+    private static final int SPIN_ITERATIONS = 1000;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class SpinThenYieldWaitStrategy
+// =============================================================================
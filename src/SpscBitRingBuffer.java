@@ -0,0 +1,350 @@
+// =============================================================================
+/**
+ * A ring buffer of bits, packed sixty-four to a <code>long</code>, that one
+ * thread fills while another drains it, with no lock and no allocation per
+ * bit.  Bits are stored most significant first within each word, as
+ * <code>BitRingBuffer</code> stores them, so that whole words of them move in
+ * and out with a pair of shifts.
+ *
+ * The producer owns the running count of bits added, and the consumer the
+ * count of bits removed; each publishes its count by a volatile write after
+ * moving the bits, and reads the other's before.  The two counts are padded
+ * apart, so that the threads do not contend for the cache line holding them.
+ * The padding is in superclasses, since the virtual machine lays out a
+ * superclass's fields before its subclass's, but may reorder those of one
+ * class.
+ *
+ * Rather than blocking, or dropping bits, when the ring is full, the producer
+ * grows it: it copies the unconsumed bits into a ring twice the size, at the
+ * same positions, and publishes the new ring before any bit written only
+ * there.  The consumer may go on reading the old ring for bits it already
+ * knew of, since the producer never writes it again.
+ *
+ * @file   SpscBitRingBuffer.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public class SpscBitRingBuffer extends SpscBitRingBufferTail {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create an empty buffer with the default capacity.
+     */
+    public SpscBitRingBuffer () {
+
+	this(DEFAULT_CAPACITY);
+
+    } // SpscBitRingBuffer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create an empty buffer able to hold at least the given number of bits
+     * before growing.
+     *
+     * @param capacity The initial number of bits to make room for.
+     */
+    public SpscBitRingBuffer (int capacity) {
+
+	// Round up to a power-of-two number of whole words.
+	int words = 1;
+	while (words * Long.SIZE < capacity) {
+	    words <<= 1;
+	}
+	this.words = new long[words];
+
+    } // SpscBitRingBuffer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of bits buffered, as of some moment during the call.
+     */
+    public int size () {
+
+	return tail - head;
+
+    } // size ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return whether no bits were buffered, as of some moment during the
+     *         call.
+     */
+    public boolean isEmpty () {
+
+	return tail == head;
+
+    } // isEmpty ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Append one bit.  Only the producer may call this.
+     *
+     * @param bit The bit to append, where <code>true</code> is a
+     *            <code>1</code>.
+     */
+    public void add (boolean bit) {
+
+	int    position = tail;
+	long[] ring     = reserve(position, 1);
+	int    index    = position & (ring.length * Long.SIZE - 1);
+	long   bitMask  = 1L << (Long.SIZE - 1 - (index & (Long.SIZE - 1)));
+	if (bit) {
+	    ring[index >>> 6] |= bitMask;
+	} else {
+	    ring[index >>> 6] &= ~bitMask;
+	}
+	tail = position + 1;
+
+    } // add ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Append a sequence of packed bits.  Only the producer may call this.
+     *
+     * @param packedBits The bits, sixty-four to a word, most significant
+     *                   first.
+     * @param bitCount   The number of bits to take from the words.
+     */
+    public void add (long[] packedBits, int bitCount) {
+
+	if (bitCount == 0) {
+	    return;
+	}
+
+	int    position = tail;
+	long[] ring     = reserve(position, bitCount);
+	int    last     = ring.length - 1;
+	int    word     = (position >>> 6) & last;
+	int    offset   = position & (Long.SIZE - 1);
+	int    count    = (bitCount + Long.SIZE - 1) / Long.SIZE;
+
+	// Write whole words, each straddling two of the ring's unless the
+	// position is aligned.  Bits past the end of the sequence are written
+	// too, but lie beyond the tail, in room kept free for them.
+	if (offset == 0) {
+	    for (int i = 0; i < count; i += 1) {
+		ring[(word + i) & last] = packedBits[i];
+	    }
+	} else {
+	    long kept = -1L << (Long.SIZE - offset);
+	    for (int i = 0; i < count; i += 1) {
+		int  at    = (word + i) & last;
+		long value = packedBits[i];
+		ring[at]              = (ring[at] & kept) | (value >>> offset);
+		ring[(at + 1) & last] = value << (Long.SIZE - offset);
+	    }
+	}
+	tail = position + bitCount;
+
+    } // add ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Remove the oldest bit.  Only the consumer may call this.
+     *
+     * @return the bit, where <code>true</code> is a <code>1</code>.
+     * @throws IllegalStateException if no bits are buffered.
+     */
+    public boolean remove () {
+
+	int position = head;
+	if (tail == position) {
+	    throw new IllegalStateException("No bits buffered");
+	}
+	long[] ring  = words;
+	int    index = position & (ring.length * Long.SIZE - 1);
+	long   word  = ring[index >>> 6];
+	head = position + 1;
+
+	return (word & (1L << (Long.SIZE - 1 - (index & (Long.SIZE - 1))))) != 0;
+
+    } // remove ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Remove as many of the oldest bits as fit in the given words, or as are
+     * buffered if fewer.  Only the consumer may call this.
+     *
+     * @param  destination The words into which to pack the bits, sixty-four
+     *                     to a word, most significant first.  Bits past the
+     *                     last removed are cleared.
+     * @return the number of bits removed.
+     */
+    public int remove (long[] destination) {
+
+	int position  = head;
+	int available = tail - position;
+	int bitCount  = (int)Math.min((long)available,
+				      (long)destination.length * Long.SIZE);
+	if (bitCount == 0) {
+	    return 0;
+	}
+
+	// Read the ring only after the tail, so as to see any grown one.
+	long[] ring   = words;
+	int    last   = ring.length - 1;
+	int    word   = (position >>> 6) & last;
+	int    offset = position & (Long.SIZE - 1);
+	int    count  = (bitCount + Long.SIZE - 1) / Long.SIZE;
+	if (offset == 0) {
+	    for (int i = 0; i < count; i += 1) {
+		destination[i] = ring[(word + i) & last];
+	    }
+	} else {
+	    for (int i = 0; i < count; i += 1) {
+		int at = (word + i) & last;
+		destination[i] = (ring[at] << offset) |
+		                 (ring[(at + 1) & last] >>> (Long.SIZE - offset));
+	    }
+	}
+	int spare = count * Long.SIZE - bitCount;
+	if (spare > 0) {
+	    destination[count - 1] &= -1L << spare;
+	}
+	head = position + bitCount;
+
+	return bitCount;
+
+    } // remove ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Make sure that there is room for some more bits, written as whole
+     * words, without overwriting any word holding bits not yet consumed but
+     * the one at the producer's position.  Grow the ring if there is not.
+     *
+     * @param  position The producer's position, from which to add.
+     * @param  bitCount The number of bits to be added.
+     * @return the ring into which to add them.
+     */
+    private long[] reserve (int position, int bitCount) {
+
+	long[] ring     = words;
+	int    consumed = head;
+	int    written  = (bitCount + Long.SIZE - 1) / Long.SIZE + 1;
+	long   needed   = ((position & -Long.SIZE) - (consumed & -Long.SIZE)) +
+	                  (long)written * Long.SIZE;
+	if (needed <= (long)ring.length * Long.SIZE) {
+	    return ring;
+	}
+
+	// Make a ring large enough, and copy the unconsumed bits into it at
+	// the same positions, a word at a time.  The consumer may be
+	// removing some of them meanwhile, which does no harm.
+	int capacity = ring.length;
+	while ((long)capacity * Long.SIZE < needed) {
+	    capacity <<= 1;
+	}
+	long[] grown = new long[capacity];
+	int    last  = ring.length - 1;
+	for (int at = consumed & -Long.SIZE; at - position < 0; at += Long.SIZE) {
+	    grown[(at >>> 6) & (capacity - 1)] = ring[(at >>> 6) & last];
+	}
+	words = grown;
+
+	return grown;
+
+    } // reserve ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** Padding, so that the producer's count shares no cache line with the
+     *  fields below. */
+    private long p20, p21, p22, p23, p24, p25, p26, p27;
+
+    /** The packed bits, most significant first; replaced when grown. */
+    private volatile long[] words;
+
+    /** The number of bits for which room is made by default. */
+    private static final int DEFAULT_CAPACITY = 4096;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class SpscBitRingBuffer
+// =============================================================================
+
+
+
+// =============================================================================
+// PADDED COUNTS
+// =============================================================================
+
+
+
+/** Padding, so that the consumer's count shares no cache line with others. */
+abstract class SpscBitRingBufferHeadPad {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+
+
+/** The consumer's count. */
+abstract class SpscBitRingBufferHead extends SpscBitRingBufferHeadPad {
+
+    /** The running count of bits removed; written only by the consumer. */
+    volatile int head;
+
+}
+
+
+
+/** Padding, so that the consumer's count and producer's do not share. */
+abstract class SpscBitRingBufferTailPad extends SpscBitRingBufferHead {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+
+
+/** The producer's count. */
+abstract class SpscBitRingBufferTail extends SpscBitRingBufferTailPad {
+
+    /** The running count of bits added; written only by the producer. */
+    volatile int tail;
+
+}
+// =============================================================================
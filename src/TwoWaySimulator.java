@@ -121,19 +121,34 @@ public class TwoWaySimulator {
      */
     private static void simulate (Host hostA, Host hostB, byte[] dataA, byte[] dataB) {
 
-        // Create the hosts as independent threads to perform communications.
-        new Thread(hostA).start();
-        new Thread(hostB).start();
-
-        // Provide the data to send to the sender.
-	hostA.send(dataA);
-	hostB.send(dataB);
-
-	System.out.printf("Pausing...");
-        try {
-            Thread.sleep(5000);
-        } catch (InterruptedException e) {}
-	System.out.printf("done.\n");
+	if (Simulator.VIRTUAL_TIME) {
+
+	    // Run the hosts as events, until there is nothing left to do.
+	    Scheduler scheduler = new Scheduler();
+	    hostA.start(scheduler);
+	    hostB.start(scheduler);
+	    hostA.send(dataA);
+	    hostB.send(dataB);
+	    Simulator.report(scheduler, scheduler.run());
+
+	} else {
+
+	    // Start the hosts on threads of their own to perform
+	    // communications.
+	    hostA.start();
+	    hostB.start();
+
+	    // Provide the data to send to the sender.
+	    hostA.send(dataA);
+	    hostB.send(dataB);
+
+	    System.out.printf("Pausing...");
+	    try {
+		Thread.sleep(5000);
+	    } catch (InterruptedException e) {}
+	    System.out.printf("done.\n");
+
+	}
 	byte[] receivedA = hostA.retrieve();
 	byte[] receivedB = hostB.retrieve();
 
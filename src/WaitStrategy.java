@@ -0,0 +1,108 @@
+// =============================================================================
+/**
+ * Decides what a data link layer's event loop does when an iteration finds
+ * nothing to do.  The loop calls <code>idle()</code> with the time by which it
+ * must next run, and any thread that hands the loop new work calls
+ * <code>signal()</code>.
+ *
+ * @file   WaitStrategy.java
+ * @author Ahmed Aly
+ * @date   October 2026
+ */
+public abstract class WaitStrategy {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create the requested wait strategy type and return it.
+     *
+     * @param  type The name of the strategy, without the
+     *              <code>WaitStrategy</code> suffix (e.g.,
+     *              <code>"Park"</code>).
+     * @return The newly created wait strategy.
+     * @throws RuntimeException if the given type is not a valid subclass.
+     */
+    public static WaitStrategy create (String type) {
+
+	// Look up the class by name.
+	String className       = type + "WaitStrategy";
+	Class<?> strategyClass = null;
+	try {
+	    strategyClass = Class.forName(className);
+	} catch (ClassNotFoundException e) {
+	    throw new RuntimeException("Unknown wait strategy subclass " +
+				       className);
+	}
+
+	// Make one of these objects, and then see if it really is a
+	// WaitStrategy subclass.
+	Object o = null;
+	try {
+	    o = strategyClass.getDeclaredConstructor().newInstance();
+	} catch (ReflectiveOperationException e) {
+	    throw new RuntimeException("Could not instantiate " + className);
+	}
+	if (!(o instanceof WaitStrategy)) {
+	    throw new RuntimeException(className +
+				       " is not a subclass of WaitStrategy");
+	}
+
+	return (WaitStrategy)o;
+
+    } // create ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Called by the event loop after an iteration that did some work.
+     */
+    public void busy () {}
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Called by the event loop after an iteration that found nothing to do.
+     * Returns when the loop should try again.
+     *
+     * @param deadline The time, on the layer's clock, by which the loop must
+     *                 run again, or <code>NO_DEADLINE</code>.
+     */
+    abstract public void idle (long deadline);
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Tell the event loop that there may be new work for it.  May be called
+     * from any thread.
+     */
+    abstract public void signal ();
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The deadline that indicates no timed action is pending. */
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class WaitStrategy
+// =============================================================================